@@ -0,0 +1,34 @@
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+sourceSets {
+    main {
+        java {
+            // The zones package is plain Java, so it can be benchmarked on the desktop JVM without the Android toolchain
+            srcDir("../core/src/main/java")
+            include("com/skeletonarmy/marrow/zones/**")
+        }
+    }
+}
+
+dependencies {
+    // Only needed for the annotations used in the zones package
+    compileOnly("com.google.android:android:4.1.1.4")
+    compileOnly("androidx.annotation:annotation:1.3.0")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.add("gc") // Reports the allocation rate next to the throughput
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,65 @@
+package com.skeletonarmy.marrow.zones;
+
+/**
+ * Builds the zones shared by the benchmarks.
+ */
+final class BenchmarkZones {
+    private BenchmarkZones() {}
+
+    /**
+     * Creates a zone centered on the origin with a size of about 20 units.
+     *
+     * @param shape One of "circle", "square", "convexN", "concaveN" or "composite", where N is the vertex count
+     * @return The zone
+     */
+    static Zone create(String shape) {
+        if (shape.equals("circle")) {
+            return new CircleZone(new Point(0, 0), 10);
+        }
+        if (shape.equals("square")) {
+            return new PolygonZone(new Point(0, 0), 20, 20);
+        }
+        if (shape.startsWith("convex")) {
+            return regularPolygon(Integer.parseInt(shape.substring("convex".length())), 10, 10);
+        }
+        if (shape.startsWith("concave")) {
+            return regularPolygon(Integer.parseInt(shape.substring("concave".length())), 10, 4);
+        }
+        if (shape.equals("composite")) {
+            return new CompositeZone(
+                    new PolygonZone(new Point(-5, 0), 10, 20),
+                    new CircleZone(new Point(5, 0), 6),
+                    regularPolygon(8, 6, 6)
+            );
+        }
+        throw new IllegalArgumentException("Unknown shape: " + shape);
+    }
+
+    /**
+     * Creates a star-like polygon whose vertices alternate between two radii.
+     * Equal radii give a regular convex polygon.
+     */
+    static PolygonZone regularPolygon(int vertexCount, double outerRadius, double innerRadius) {
+        Point[] points = new Point[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            double angle = 2 * Math.PI * i / vertexCount;
+            double radius = (i % 2 == 0) ? outerRadius : innerRadius;
+            points[i] = new Point(radius * Math.cos(angle), radius * Math.sin(angle));
+        }
+        return new PolygonZone(points);
+    }
+
+    /**
+     * Creates query coordinates scattered around the origin, half of them inside a 20 unit zone.
+     */
+    static double[][] queryPoints(int count) {
+        java.util.Random random = new java.util.Random(23644);
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextDouble() * 40 - 20;
+            ys[i] = random.nextDouble() * 40 - 20;
+        }
+        return new double[][] { xs, ys };
+    }
+}
@@ -0,0 +1,119 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures point and zone queries against every kind of zone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZoneQueryBenchmark {
+    private static final int POINT_COUNT = 1024;
+
+    @Param({ "circle", "square", "convex16", "convex64", "concave16", "concave64", "composite" })
+    public String shape;
+
+    private Zone zone;
+    private Zone nearbyZone;
+    private Zone overlappingZone;
+    private double[] xs;
+    private double[] ys;
+    private Point[] points;
+    private boolean[] containsOut;
+    private double[] distanceOut;
+    private int index;
+
+    @Setup
+    public void setup() {
+        zone = BenchmarkZones.create(shape);
+
+        // Same shape, once placed next to the zone and once overlapping it
+        nearbyZone = BenchmarkZones.create(shape);
+        nearbyZone.moveBy(25, 5);
+        overlappingZone = BenchmarkZones.create(shape);
+        overlappingZone.moveBy(8, 3);
+
+        double[][] query = BenchmarkZones.queryPoints(POINT_COUNT);
+        xs = query[0];
+        ys = query[1];
+        points = new Point[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            points[i] = new Point(xs[i], ys[i]);
+        }
+        containsOut = new boolean[POINT_COUNT];
+        distanceOut = new double[POINT_COUNT];
+    }
+
+    private int next() {
+        index = (index + 1) & (POINT_COUNT - 1);
+        return index;
+    }
+
+    @Benchmark
+    public boolean containsPoint() {
+        return zone.contains(points[next()]);
+    }
+
+    @Benchmark
+    public boolean containsCoordinates() {
+        int i = next();
+        return zone.contains(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    public double distanceToPoint() {
+        return zone.distanceTo(points[next()]);
+    }
+
+    @Benchmark
+    public double distanceToCoordinates() {
+        int i = next();
+        return zone.distanceTo(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    public double distanceToBoundary() {
+        int i = next();
+        return zone.distanceToBoundary(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINT_COUNT)
+    public boolean[] containsAll() {
+        zone.containsAll(xs, ys, containsOut);
+        return containsOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINT_COUNT)
+    public double[] distanceToAll() {
+        zone.distanceToAll(xs, ys, distanceOut);
+        return distanceOut;
+    }
+
+    @Benchmark
+    public double distanceToSeparatedZone() {
+        return zone.distanceTo(nearbyZone);
+    }
+
+    @Benchmark
+    public double distanceToOverlappingZone() {
+        return zone.distanceTo(overlappingZone);
+    }
+
+    @Benchmark
+    public boolean isInsideSeparatedZone() {
+        return zone.isInside(nearbyZone);
+    }
+}
@@ -0,0 +1,74 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving a robot footprint polygon every loop, followed by a query against the moved polygon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ZoneTransformBenchmark {
+    @Param({ "4", "16", "64" })
+    public int vertexCount;
+
+    private PolygonZone footprint;
+    private PolygonZone obstacle;
+    private double step;
+
+    @Setup
+    public void setup() {
+        footprint = BenchmarkZones.regularPolygon(vertexCount, 9, 9);
+        obstacle = BenchmarkZones.regularPolygon(vertexCount, 5, 5);
+        obstacle.moveBy(30, 0);
+    }
+
+    @Benchmark
+    public PolygonZone rotateBy() {
+        footprint.rotateBy(0.01);
+        return footprint;
+    }
+
+    @Benchmark
+    public PolygonZone moveBy() {
+        step = -step + 0.01;
+        footprint.moveBy(step, step);
+        return footprint;
+    }
+
+    @Benchmark
+    public PolygonZone setPosition() {
+        step = -step + 0.01;
+        footprint.setPosition(step, step);
+        return footprint;
+    }
+
+    @Benchmark
+    public PolygonZone setPose() {
+        step = -step + 0.01;
+        footprint.setPose(step, step, step);
+        return footprint;
+    }
+
+    @Benchmark
+    public boolean setPoseThenContains() {
+        step = -step + 0.01;
+        footprint.setPose(step, step, step);
+        return footprint.contains(3, 4);
+    }
+
+    @Benchmark
+    public double rotateThenDistanceToZone() {
+        footprint.rotateBy(0.01);
+        return footprint.distanceTo(obstacle);
+    }
+}
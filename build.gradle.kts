@@ -2,10 +2,10 @@ plugins {
     base // provides the clean task
 }
 
-subprojects {
-    apply(plugin = "com.android.library")
-    apply(plugin = "io.deepmedia.tools.deployer")
+// Benchmarks run on the desktop JVM and are never published
+val libraryProjects = subprojects.filter { it.name != "benchmarks" }
 
+subprojects {
     group = "com.skeletonarmyftc.marrow"
     version = "1.1.2"
 
@@ -14,6 +14,11 @@ subprojects {
         google()
         maven("https://maven.brott.dev")
     }
+}
+
+configure(libraryProjects) {
+    apply(plugin = "com.android.library")
+    apply(plugin = "io.deepmedia.tools.deployer")
 
     extensions.configure<io.deepmedia.tools.deployer.DeployerExtension> {
         projectInfo {
@@ -63,18 +68,18 @@ tasks.register("deployCentralPortal") {
     group = "publishing"
     description = "Publishes all subprojects to Maven Central."
     dependsOn("clean")
-    dependsOn(subprojects.map { it.tasks.named("deployCentralPortal") })
+    dependsOn(libraryProjects.map { it.tasks.named("deployCentralPortal") })
 }
 
 tasks.register("deployNexusSnapshot") {
     group = "publishing"
     description = "Publishes all subprojects to Maven Central Snapshots."
     dependsOn("clean")
-    dependsOn(subprojects.map { it.tasks.named("deployNexusSnapshot") })
+    dependsOn(libraryProjects.map { it.tasks.named("deployNexusSnapshot") })
 }
 
 tasks.register("deployLocal") {
     group = "publishing"
     description = "Publishes all subprojects to Maven Local."
-    dependsOn(subprojects.map { it.tasks.named("deployLocal") })
+    dependsOn(libraryProjects.map { it.tasks.named("deployLocal") })
 }
@@ -0,0 +1,386 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shared base for zones built by combining two other zones.
+ * <p>
+ * When both operands are polygons, the combined shape is clipped into convex polygons once and
+ * queries go straight to them. Concave polygons are clipped through their convex parts.
+ * The clip is redone the first time it is needed after an operand moves.
+ * For any other operands, queries evaluate the operands directly.
+ */
+abstract class BooleanZone implements Zone {
+    private static final double CLIP_EPSILON = 1e-9;
+
+    protected final Zone first;
+    protected final Zone second;
+    private final boolean clippable;
+
+    // The clipped shape, or null if it has not been built or the result is empty
+    private Zone result;
+    private long resultVersion = -1;
+
+    private Point cachedPosition;
+    private long positionVersion = -1;
+
+    BooleanZone(Zone first, Zone second) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException("Both zones must be provided.");
+        }
+
+        this.first = first;
+        this.second = second;
+        this.clippable = first instanceof PolygonZone && ((PolygonZone) first).getConvexParts() != null &&
+                second instanceof PolygonZone && ((PolygonZone) second).getConvexParts() != null;
+    }
+
+    /**
+     * Builds the combined shape of two polygons from their convex parts.
+     *
+     * @return The clipped shape, or null if it is empty
+     */
+    abstract Zone clip(PolygonZone[] firstParts, PolygonZone[] secondParts);
+
+    abstract boolean evaluateContains(double x, double y);
+
+    /**
+     * Combines the operands' signed boundary distances. This is exact inside the zone and a lower bound outside it.
+     */
+    abstract double evaluateDistanceToBoundary(double x, double y);
+
+    abstract double evaluateDistanceTo(Zone zone);
+
+    abstract boolean evaluateIsFullyInside(Zone zone);
+
+    abstract BoundingBox evaluateBoundingBox();
+
+    /**
+     * Gets the clipped shape, rebuilding it if an operand moved since it was built.
+     *
+     * @return The clipped shape, or null if the operands can't be clipped or the result is empty
+     */
+    Zone getResult() {
+        if (!clippable) return null;
+
+        long version = getVersion();
+        if (version != resultVersion) {
+            result = clip(((PolygonZone) first).getConvexParts(), ((PolygonZone) second).getConvexParts());
+            resultVersion = version;
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the operands were clipped and nothing was left.
+     */
+    boolean isEmpty() {
+        return clippable && getResult() == null;
+    }
+
+    /**
+     * Gets the center of the zone's bounding box.
+     * The point is cached until an operand moves.
+     *
+     * @return The center point
+     */
+    @Override
+    public Point getPosition() {
+        long version = getVersion();
+        if (cachedPosition == null || version != positionVersion) {
+            BoundingBox bounds = getBoundingBox();
+            cachedPosition = new Point((bounds.getMinX() + bounds.getMaxX()) / 2.0, (bounds.getMinY() + bounds.getMaxY()) / 2.0);
+            positionVersion = version;
+        }
+        return cachedPosition;
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        Zone shape = getResult();
+        return shape != null ? shape.getBoundingBox() : evaluateBoundingBox();
+    }
+
+    @Override
+    public boolean contains(Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    @Override
+    public boolean contains(double x, double y) {
+        Zone shape = getResult();
+        return shape != null ? shape.contains(x, y) : evaluateContains(x, y);
+    }
+
+    /**
+     * Checks if this zone overlaps another zone.
+     * Exact when the operands are polygons. Otherwise it is conservative, since it relies on {@link #distanceTo(Zone)}
+     * being a lower bound: it never misses a real overlap, but may report one near the zone that does not exist,
+     * such as a zone sitting in the hole of a {@link DifferenceZone} or between the operands of an empty
+     * {@link IntersectionZone}.
+     *
+     * @param zone The zone to check against
+     * @return True if the zones may overlap, false if they certainly don't
+     */
+    @Override
+    public boolean isInside(Zone zone) {
+        if (isEmpty() || !getBoundingBox().intersects(zone.getBoundingBox())) {
+            return false;
+        }
+        return this.distanceTo(zone) <= 1e-9;
+    }
+
+    @Override
+    public boolean isFullyInside(Zone zone) {
+        Zone shape = getResult();
+        return shape != null ? shape.isFullyInside(zone) : evaluateIsFullyInside(zone);
+    }
+
+    @Override
+    public double distanceTo(Point point) {
+        return distanceTo(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the zone to a point. If the point is inside the zone, the distance is 0.
+     * Exact when the operands are polygons, otherwise a lower bound on the distance.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The distance to the zone, or {@link Double#MAX_VALUE} if the zone is empty
+     */
+    @Override
+    public double distanceTo(double x, double y) {
+        Zone shape = getResult();
+        if (shape != null) return shape.distanceTo(x, y);
+        if (clippable) return Double.MAX_VALUE;
+
+        return Math.max(0.0, evaluateDistanceToBoundary(x, y));
+    }
+
+    /**
+     * Calculates the shortest distance between this zone and another zone.
+     * Exact when the operands are polygons, otherwise a lower bound on the distance:
+     * the cut out part of a {@link DifferenceZone} is ignored, and an {@link IntersectionZone} only
+     * counts the distance to the farther operand, so the result can be 0 for a zone that doesn't touch this one.
+     *
+     * @param zone The zone to measure the distance to
+     * @return The distance between the zones, or {@link Double#MAX_VALUE} if this zone is empty
+     */
+    @Override
+    public double distanceTo(Zone zone) {
+        Zone shape = getResult();
+        if (shape != null) return shape.distanceTo(zone);
+        if (clippable) return Double.MAX_VALUE;
+
+        return evaluateDistanceTo(zone);
+    }
+
+    @Override
+    public double distanceToBoundary(Point point) {
+        return distanceToBoundary(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the given coordinates to the zone's boundary.
+     * Negative if the point is inside, positive if outside. Inside the zone this is always exact.
+     * Outside it is exact when the operands are polygons, otherwise a lower bound.
+     * When the operands were clipped into a single polygon, it is measured directly.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The signed distance to the boundary, or {@link Double#MAX_VALUE} if the zone is empty
+     */
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        Zone shape = getResult();
+        if (shape instanceof PolygonZone) {
+            return shape.distanceToBoundary(x, y);
+        }
+        if (shape != null) {
+            // Clipped pieces meet along seams that aren't part of the boundary, so depth inside comes from the operands
+            return shape.contains(x, y) ? evaluateDistanceToBoundary(x, y) : shape.distanceTo(x, y);
+        }
+        return clippable ? Double.MAX_VALUE : evaluateDistanceToBoundary(x, y);
+    }
+
+    /**
+     * Moves both operands. The clipped shape is moved along with them rather than clipped again.
+     *
+     * @param deltaX The amount to move in the X direction
+     * @param deltaY The amount to move in the Y direction
+     */
+    @Override
+    public void moveBy(double deltaX, double deltaY) {
+        boolean resultValid = clippable && getVersion() == resultVersion;
+
+        first.moveBy(deltaX, deltaY);
+        if (second != first) {
+            second.moveBy(deltaX, deltaY);
+        }
+
+        if (resultValid) {
+            if (result != null) {
+                result.moveBy(deltaX, deltaY);
+            }
+            resultVersion = getVersion();
+        }
+    }
+
+    /**
+     * Moves the zone so the center of its bounding box is at the new position.
+     *
+     * @param posX The new X position
+     * @param posY The new Y position
+     */
+    @Override
+    public void setPosition(double posX, double posY) {
+        Point currentCenter = getPosition();
+        moveBy(posX - currentCenter.getX(), posY - currentCenter.getY());
+    }
+
+    /**
+     * Gets a counter that changes every time either operand is moved.
+     *
+     * @return The current version of the zone
+     */
+    @Override
+    public long getVersion() {
+        return first.getVersion() + second.getVersion();
+    }
+
+    /**
+     * Copies the corners of a convex polygon in counter-clockwise order.
+     *
+     * @return The X and Y coordinates of the corners
+     */
+    static double[][] counterClockwiseCorners(PolygonZone polygon) {
+        int count = polygon.getCornerCount();
+        double doubleArea = 0.0;
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1 == count) ? 0 : i + 1;
+            doubleArea += polygon.getCornerX(i) * polygon.getCornerY(next) - polygon.getCornerX(next) * polygon.getCornerY(i);
+        }
+
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            int corner = doubleArea < 0 ? count - 1 - i : i;
+            xs[i] = polygon.getCornerX(corner);
+            ys[i] = polygon.getCornerY(corner);
+        }
+        return new double[][] { xs, ys };
+    }
+
+    /**
+     * Clips a convex polygon to one side of a line, keeping the part to the left of the line from (ax, ay) to (bx, by).
+     * This is one step of the Sutherland-Hodgman algorithm.
+     *
+     * @return The X and Y coordinates of the remaining corners, which may be empty
+     */
+    static double[][] clipToLeftOf(double[][] polygon, double ax, double ay, double bx, double by) {
+        double[] xs = polygon[0];
+        double[] ys = polygon[1];
+        int count = xs.length;
+
+        // Each edge adds at most its start corner and one crossing
+        double[] outXs = new double[2 * count];
+        double[] outYs = new double[2 * count];
+        int outCount = 0;
+
+        double lineX = bx - ax;
+        double lineY = by - ay;
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1 == count) ? 0 : i + 1;
+            double side = lineX * (ys[i] - ay) - lineY * (xs[i] - ax);
+            double nextSide = lineX * (ys[next] - ay) - lineY * (xs[next] - ax);
+
+            if (side >= 0) {
+                outXs[outCount] = xs[i];
+                outYs[outCount] = ys[i];
+                outCount++;
+            }
+
+            // The edge crosses the line, so add the crossing point
+            if ((side > 0 && nextSide < 0) || (side < 0 && nextSide > 0)) {
+                double t = side / (side - nextSide);
+                outXs[outCount] = xs[i] + t * (xs[next] - xs[i]);
+                outYs[outCount] = ys[i] + t * (ys[next] - ys[i]);
+                outCount++;
+            }
+        }
+
+        return new double[][] { Arrays.copyOf(outXs, outCount), Arrays.copyOf(outYs, outCount) };
+    }
+
+    /**
+     * Checks if the bounding boxes of two polygons overlap, to skip clipping pairs that are far apart.
+     */
+    static boolean boundsOverlap(double[][] polygon1, double[][] polygon2) {
+        return max(polygon1[0]) >= min(polygon2[0]) && max(polygon2[0]) >= min(polygon1[0]) &&
+                max(polygon1[1]) >= min(polygon2[1]) && max(polygon2[1]) >= min(polygon1[1]);
+    }
+
+    /**
+     * Turns clipped pieces into a zone, dropping pieces that don't enclose any area.
+     *
+     * @return A single polygon, a composite of the pieces, or null if nothing is left
+     */
+    static Zone toZone(List<double[][]> pieces) {
+        List<Zone> polygons = new ArrayList<>(pieces.size());
+        for (double[][] piece : pieces) {
+            PolygonZone polygon = toPolygon(piece[0], piece[1]);
+            if (polygon != null) {
+                polygons.add(polygon);
+            }
+        }
+
+        if (polygons.isEmpty()) return null;
+        if (polygons.size() == 1) return polygons.get(0);
+        return new CompositeZone(polygons.toArray(new Zone[0]));
+    }
+
+    /**
+     * Builds a polygon from clipped corners, dropping repeated corners.
+     *
+     * @return The polygon, or null if the corners don't enclose any area
+     */
+    private static PolygonZone toPolygon(double[] xs, double[] ys) {
+        List<Point> points = new ArrayList<>(xs.length);
+        for (int i = 0; i < xs.length; i++) {
+            Point last = points.isEmpty() ? null : points.get(points.size() - 1);
+            if (last == null || Math.abs(last.getX() - xs[i]) > CLIP_EPSILON || Math.abs(last.getY() - ys[i]) > CLIP_EPSILON) {
+                points.add(new Point(xs[i], ys[i]));
+            }
+        }
+        while (points.size() > 1 && Math.abs(points.get(0).getX() - points.get(points.size() - 1).getX()) <= CLIP_EPSILON &&
+                Math.abs(points.get(0).getY() - points.get(points.size() - 1).getY()) <= CLIP_EPSILON) {
+            points.remove(points.size() - 1);
+        }
+        if (points.size() < 3) return null;
+
+        double doubleArea = 0.0;
+        for (int i = 0; i < points.size(); i++) {
+            Point current = points.get(i);
+            Point next = points.get((i + 1) % points.size());
+            doubleArea += current.getX() * next.getY() - next.getX() * current.getY();
+        }
+        if (Math.abs(doubleArea) <= CLIP_EPSILON) return null;
+
+        return new PolygonZone(points.toArray(new Point[0]));
+    }
+
+    private static double min(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : values) min = Math.min(min, value);
+        return min;
+    }
+
+    private static double max(double[] values) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) max = Math.max(max, value);
+        return max;
+    }
+}
@@ -0,0 +1,125 @@
+package com.skeletonarmy.marrow.zones;
+
+import android.annotation.SuppressLint;
+
+import androidx.annotation.NonNull;
+
+/**
+ * An axis-aligned bounding box, used to cheaply reject zone queries that are far away.
+ */
+public class BoundingBox {
+    // Reported by zones that don't know their extent, so no broad phase ever skips them
+    static final BoundingBox UNBOUNDED = new BoundingBox(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    public BoundingBox(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Checks if a point lies inside or on the edge of the box.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return True if the point is inside the box
+     */
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Checks if another box lies fully inside this box.
+     *
+     * @param other The box to check
+     * @return True if the other box is fully inside this box
+     */
+    public boolean contains(BoundingBox other) {
+        return contains(other, 0.0);
+    }
+
+    /**
+     * Checks if another box lies fully inside this box, allowing it to stick out by a small tolerance.
+     *
+     * @param other The box to check
+     * @param tolerance How far the other box may extend past this box
+     * @return True if the other box is inside this box
+     */
+    public boolean contains(BoundingBox other, double tolerance) {
+        return other.minX >= minX - tolerance && other.maxX <= maxX + tolerance &&
+                other.minY >= minY - tolerance && other.maxY <= maxY + tolerance;
+    }
+
+    /**
+     * Checks if this box touches or overlaps another box.
+     *
+     * @param other The box to check
+     * @return True if the boxes overlap
+     */
+    public boolean intersects(BoundingBox other) {
+        return !(maxX < other.minX || other.maxX < minX || maxY < other.minY || other.maxY < minY);
+    }
+
+    /**
+     * Creates the smallest box containing both this box and another box.
+     *
+     * @param other The box to merge with
+     * @return The merged box
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(
+                Math.min(minX, other.minX),
+                Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX),
+                Math.max(maxY, other.maxY)
+        );
+    }
+
+    /**
+     * Creates the box covering the area shared by this box and another box.
+     * If the boxes do not overlap, the result has no area.
+     *
+     * @param other The box to intersect with
+     * @return The shared box
+     */
+    public BoundingBox intersection(BoundingBox other) {
+        double sharedMinX = Math.max(minX, other.minX);
+        double sharedMinY = Math.max(minY, other.minY);
+        return new BoundingBox(
+                sharedMinX,
+                sharedMinY,
+                Math.max(sharedMinX, Math.min(maxX, other.maxX)),
+                Math.max(sharedMinY, Math.min(maxY, other.maxY))
+        );
+    }
+
+    @SuppressLint("DefaultLocale")
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format("BoundingBox(minX=%.3f, minY=%.3f, maxX=%.3f, maxY=%.3f)", minX, minY, maxX, maxY);
+    }
+}
@@ -7,6 +7,12 @@ public class CircleZone implements Zone {
     private Point center;
     private final double radius;
 
+    private BoundingBox cachedBounds;
+    private long version;
+
+    // The complex zones to tell when the circle moves, or null if it isn't in any
+    private MoveWatchers watchers;
+
     public CircleZone() {
         this.center = new Point(0, 0);
         this.radius = 1;
@@ -32,6 +38,25 @@ public class CircleZone implements Zone {
         return center;
     }
     
+    /**
+     * Gets the axis-aligned bounding box of the circle.
+     * The box is cached until the circle is moved.
+     *
+     * @return The bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (cachedBounds == null) {
+            cachedBounds = new BoundingBox(
+                    center.getX() - radius,
+                    center.getY() - radius,
+                    center.getX() + radius,
+                    center.getY() + radius
+            );
+        }
+        return cachedBounds;
+    }
+
     /**
      * Gets the radius of the circle.
      * 
@@ -49,7 +74,41 @@ public class CircleZone implements Zone {
      */
     @Override
     public boolean contains(Point point) {
-        return distanceToBoundary(point) <= 0;
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines if a point is contained within this circle zone without allocating a {@link Point}.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return True if the point is inside or on the boundary of the circle
+     */
+    @Override
+    public boolean contains(double x, double y) {
+        double dx = x - center.getX();
+        double dy = y - center.getY();
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    /**
+     * Checks many points at once, writing whether each one is contained in the circle.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives true for every point inside or on the boundary of the circle
+     */
+    @Override
+    public void containsAll(double[] xs, double[] ys, boolean[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        double centerX = center.getX();
+        double centerY = center.getY();
+        double radiusSq = radius * radius;
+        for (int i = 0; i < xs.length; i++) {
+            double dx = xs[i] - centerX;
+            double dy = ys[i] - centerY;
+            out[i] = dx * dx + dy * dy <= radiusSq;
+        }
     }
 
     /**
@@ -60,6 +119,9 @@ public class CircleZone implements Zone {
      */
     @Override
     public boolean isInside(Zone zone) {
+        if (!getBoundingBox().intersects(zone.getBoundingBox())) {
+            return false;
+        }
         return this.distanceTo(zone) == 0.0;
     }
 
@@ -80,14 +142,20 @@ public class CircleZone implements Zone {
         if (zone instanceof PolygonZone) {
             PolygonZone other = (PolygonZone) zone;
 
-            // Must satisfy two conditions for convex polygon containment:
+            if (!other.getBoundingBox().contains(getBoundingBox(), 1e-9)) {
+                return false;
+            }
+
+            // Must satisfy two conditions, which hold for concave polygons as well as convex ones:
             // 1. Center is inside the polygon.
             if (!other.contains(this.center)) {
                 return false;
             }
 
-            // 2. Shortest distance from center to any polygon edge is >= radius.
-            return other.distanceToBoundary(this.center) >= this.radius;
+            // 2. Shortest distance from center to any polygon edge is >= radius, so no edge,
+            // including the ones around a concave notch, cuts into the circle.
+            // The center is inside, so the distance to the boundary is negative.
+            return -other.distanceToBoundary(this.center) >= this.radius;
         }
 
         return false;
@@ -102,7 +170,37 @@ public class CircleZone implements Zone {
      */
     @Override
     public double distanceTo(Point point) {
-        return Math.max(0, distanceToBoundary(point));
+        return distanceTo(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the circle's perimeter to a point without allocating a {@link Point}.
+     * If the point is inside the zone, the distance is 0.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the zone
+     */
+    @Override
+    public double distanceTo(double x, double y) {
+        return Math.max(0, distanceToBoundary(x, y));
+    }
+
+    /**
+     * Measures many points at once, writing the distance from each one to the circle.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives the distance for every point, 0 for points inside the circle
+     */
+    @Override
+    public void distanceToAll(double[] xs, double[] ys, double[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        double centerX = center.getX();
+        double centerY = center.getY();
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = Math.max(0, Math.hypot(xs[i] - centerX, ys[i] - centerY) - radius);
+        }
     }
 
     /**
@@ -130,7 +228,8 @@ public class CircleZone implements Zone {
             return Math.max(0, distanceToPolygonCenter - this.radius);
         }
 
-        if (zone instanceof CompositeZone) {
+        if (zone instanceof CompositeZone || zone instanceof BooleanZone || zone instanceof InflatedZone ||
+                zone instanceof ZoneSnapshot) {
             return zone.distanceTo(this);
         }
 
@@ -146,7 +245,85 @@ public class CircleZone implements Zone {
      */
     @Override
     public double distanceToBoundary(Point point) {
-        return point.distanceTo(this.center) - this.radius;
+        return distanceToBoundary(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the given coordinates to the zone's boundary.
+     * Negative if the point is inside, positive if outside.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the boundary
+     */
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        return Math.hypot(x - center.getX(), y - center.getY()) - this.radius;
+    }
+
+    /**
+     * Finds the point on the circle nearest to a point. The normal points from the center through the point,
+     * or along +X for the center itself, where every boundary point is equally near.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param out Receives the nearest boundary point
+     */
+    @Override
+    public void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        double offsetX = x - center.getX();
+        double offsetY = y - center.getY();
+        double length = Math.hypot(offsetX, offsetY);
+        double normalX = length > 0 ? offsetX / length : 1.0;
+        double normalY = length > 0 ? offsetY / length : 0.0;
+        out.set(center.getX() + normalX * radius, center.getY() + normalY * radius,
+                normalX, normalY, length - radius, -1, this);
+    }
+
+    /**
+     * Finds how far a ray travels before it reaches the circle, by solving for where the ray crosses the circle.
+     *
+     * @param originX The X coordinate where the ray starts
+     * @param originY The Y coordinate where the ray starts
+     * @param heading The direction of the ray in radians
+     * @param maxDistance How far to follow the ray
+     * @return The distance to the circle, 0 if the ray starts inside it, or -1 if it isn't reached within the maximum distance
+     */
+    @Override
+    public double raycast(double originX, double originY, double heading, double maxDistance) {
+        double offsetX = originX - center.getX();
+        double offsetY = originY - center.getY();
+        double c = offsetX * offsetX + offsetY * offsetY - radius * radius;
+        if (c <= 0) return 0.0;
+
+        // Solve |offset + t * direction|^2 = radius^2, where direction has length 1
+        double b = offsetX * Math.cos(heading) + offsetY * Math.sin(heading);
+        double discriminant = b * b - c;
+        if (b >= 0 || discriminant < 0) return -1;
+
+        double distance = -b - Math.sqrt(discriminant);
+        return distance <= maxDistance ? distance : -1;
+    }
+
+    /**
+     * Checks if a segment touches the circle anywhere along its length.
+     *
+     * @param startX The X coordinate of one end of the segment
+     * @param startY The Y coordinate of one end of the segment
+     * @param endX The X coordinate of the other end of the segment
+     * @param endY The Y coordinate of the other end of the segment
+     * @return True if the closest point of the segment to the center is within the radius
+     */
+    @Override
+    public boolean intersectsSegment(double startX, double startY, double endX, double endY) {
+        double segmentX = endX - startX;
+        double segmentY = endY - startY;
+        double offsetX = center.getX() - startX;
+        double offsetY = center.getY() - startY;
+
+        double lengthSq = segmentX * segmentX + segmentY * segmentY;
+        double t = lengthSq == 0 ? 0.0 : Math.max(0.0, Math.min(1.0, (offsetX * segmentX + offsetY * segmentY) / lengthSq));
+        return Math.hypot(offsetX - t * segmentX, offsetY - t * segmentY) <= radius;
     }
     
     /**
@@ -158,6 +335,9 @@ public class CircleZone implements Zone {
     @Override
     public void moveBy(double deltaX, double deltaY) {
         this.center = new Point(this.center.getX() + deltaX, this.center.getY() + deltaY);
+        this.cachedBounds = null;
+        this.version++;
+        if (watchers != null) watchers.notifyMoved();
     }
     
     /**
@@ -169,5 +349,27 @@ public class CircleZone implements Zone {
     @Override
     public void setPosition(double posX, double posY) {
         this.center = new Point(posX, posY);
+        this.cachedBounds = null;
+        this.version++;
+        if (watchers != null) watchers.notifyMoved();
+    }
+
+    /**
+     * Gets a counter that changes every time the circle is moved.
+     * Useful for detecting that cached data about the circle is out of date.
+     *
+     * @return The current version of the circle
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Tells a complex zone built from this circle whenever the circle moves.
+     */
+    void addWatcher(CompositeZone composite) {
+        if (watchers == null) watchers = new MoveWatchers();
+        watchers.add(composite);
     }
 }
@@ -1,15 +1,49 @@
 package com.skeletonarmy.marrow.zones;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A composite zone that is the union of all its component zones.
+ * <p>
+ * Nested composites are flattened when the zone is built. Queries run over flat arrays of the
+ * circles and polygons at the leaves of the tree, skipping any leaf whose bounding box rules it out,
+ * instead of recursing through the nested composites.
  */
 public class CompositeZone implements Zone {
     private final List<Zone> zones;
 
+    // Leaves of the flattened tree, grouped by type so each loop calls a single implementation
+    private final CircleZone[] circles;
+    private final PolygonZone[] polygons;
+    private final Zone[] others;
+
+    // Leaf bounding boxes as minX, minY, maxX, maxY, with circles first, then polygons, then the others
+    private final double[] leafBounds;
+    private double minX, minY, maxX, maxY;
+
+    private double centroidX, centroidY;
+    private Point cachedCentroid;
+    private BoundingBox cachedBounds;
+
+    // Set when a leaf moves, until the cached bounds and centroid are read again.
+    // Circles and polygons report their own moves, so only the other leaves have to be asked.
+    private boolean leavesMoved = true;
+    private final long[] otherVersions;
+    private long version;
+
+    // Opt-in memory of the leaf nearest to the last fully scanned point, valid while no leaf moves.
+    // The runner-up distance is a lower bound on how far every other leaf was from that point.
+    private boolean distanceCaching;
+    private int nearestLeaf = -1;
+    private long nearestLeafVersion;
+    private double nearestQueryX, nearestQueryY;
+    private double runnerUpDistance;
+
     /**
      * Constructs a CompositeZone from a collection of Zone objects.
      * @param zones The zones that make up this complex zone.
@@ -20,25 +54,90 @@ public class CompositeZone implements Zone {
         }
 
         this.zones = Collections.unmodifiableList(Arrays.asList(zones));
+
+        List<CircleZone> circleLeaves = new ArrayList<>();
+        List<PolygonZone> polygonLeaves = new ArrayList<>();
+        List<Zone> otherLeaves = new ArrayList<>();
+        Set<Zone> seen = Collections.newSetFromMap(new IdentityHashMap<Zone, Boolean>());
+
+        for (Zone zone : zones) {
+            collectLeaves(zone, circleLeaves, polygonLeaves, otherLeaves, seen);
+        }
+
+        this.circles = circleLeaves.toArray(new CircleZone[0]);
+        this.polygons = polygonLeaves.toArray(new PolygonZone[0]);
+        this.others = otherLeaves.toArray(new Zone[0]);
+        this.leafBounds = new double[4 * (circles.length + polygons.length + others.length)];
+
+        for (CircleZone circle : circles) circle.addWatcher(this);
+        for (PolygonZone polygon : polygons) polygon.addWatcher(this);
+        this.otherVersions = new long[others.length];
+        for (int i = 0; i < others.length; i++) {
+            otherVersions[i] = others[i].getVersion();
+        }
+    }
+
+    /**
+     * Adds the leaves of a zone to the flattened lists. A leaf shared by several branches is only added once,
+     * so it is only moved once.
+     */
+    private static void collectLeaves(Zone zone, List<CircleZone> circles, List<PolygonZone> polygons,
+                                      List<Zone> others, Set<Zone> seen) {
+        if (zone instanceof CompositeZone) {
+            // Already flattened when it was built
+            CompositeZone composite = (CompositeZone) zone;
+            for (CircleZone circle : composite.circles) collectLeaves(circle, circles, polygons, others, seen);
+            for (PolygonZone polygon : composite.polygons) collectLeaves(polygon, circles, polygons, others, seen);
+            for (Zone other : composite.others) collectLeaves(other, circles, polygons, others, seen);
+            return;
+        }
+
+        if (!seen.add(zone)) return;
+
+        if (zone instanceof CircleZone) {
+            circles.add((CircleZone) zone);
+        } else if (zone instanceof PolygonZone) {
+            polygons.add((PolygonZone) zone);
+        } else {
+            others.add(zone);
+        }
+    }
+
+    /**
+     * Gets the zones this complex zone was built from, before flattening.
+     */
+    List<Zone> getZones() {
+        return zones;
     }
 
     /**
      * Gets the approximate geometric center (centroid) of the complex zone,
      * calculated as the average center of its component zones.
+     * The center is cached until a component zone moves.
      * @return The center point.
      */
     @Override
     public Point getPosition() {
-        double sumX = 0.0;
-        double sumY = 0.0;
-
-        for (Zone zone : zones) {
-            Point center = zone.getPosition();
-            sumX += center.getX();
-            sumY += center.getY();
+        refreshCache();
+        if (cachedCentroid == null) {
+            cachedCentroid = new Point(centroidX, centroidY);
         }
+        return cachedCentroid;
+    }
 
-        return new Point(sumX / zones.size(), sumY / zones.size());
+    /**
+     * Gets the bounding box of the complex zone, which encloses the bounding boxes of all its component zones.
+     * The box is cached until a component zone moves.
+     *
+     * @return The bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        refreshCache();
+        if (cachedBounds == null) {
+            cachedBounds = new BoundingBox(minX, minY, maxX, maxY);
+        }
+        return cachedBounds;
     }
 
     /**
@@ -50,10 +149,34 @@ public class CompositeZone implements Zone {
      */
     @Override
     public boolean contains(Point point) {
-        for (Zone zone : zones) {
-            if (zone.contains(point)) {
-                return true;
-            }
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines if a point is contained within this complex zone without allocating a {@link Point}.
+     * It is contained if it is inside ANY of the component zones.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return True if the point is inside or on the boundary of any component zone
+     */
+    @Override
+    public boolean contains(double x, double y) {
+        // Polygons count points just past their edges as inside, so the boxes get the same tolerance
+        refreshCache();
+        if (x < minX - 1e-9 || x > maxX + 1e-9 || y < minY - 1e-9 || y > maxY + 1e-9) {
+            return false;
+        }
+
+        int leaf = 0;
+        for (int i = 0; i < circles.length; i++, leaf++) {
+            if (leafBoxContains(leaf, x, y) && circles[i].contains(x, y)) return true;
+        }
+        for (int i = 0; i < polygons.length; i++, leaf++) {
+            if (leafBoxContains(leaf, x, y) && polygons[i].contains(x, y)) return true;
+        }
+        for (int i = 0; i < others.length; i++, leaf++) {
+            if (leafBoxContains(leaf, x, y) && others[i].contains(x, y)) return true;
         }
         return false;
     }
@@ -66,6 +189,9 @@ public class CompositeZone implements Zone {
      */
     @Override
     public boolean isInside(Zone zone) {
+        if (!getBoundingBox().intersects(zone.getBoundingBox())) {
+            return false;
+        }
         return this.distanceTo(zone) <= 1e-9;
     }
 
@@ -77,10 +203,14 @@ public class CompositeZone implements Zone {
      */
     @Override
     public boolean isFullyInside(Zone zone) {
-        for (Zone component : zones) {
-            if (!component.isFullyInside(zone)) {
-                return false;
-            }
+        for (CircleZone circle : circles) {
+            if (!circle.isFullyInside(zone)) return false;
+        }
+        for (PolygonZone polygon : polygons) {
+            if (!polygon.isFullyInside(zone)) return false;
+        }
+        for (Zone other : others) {
+            if (!other.isFullyInside(zone)) return false;
         }
         return true;
     }
@@ -94,18 +224,121 @@ public class CompositeZone implements Zone {
      */
     @Override
     public double distanceTo(Point point) {
-        if (this.contains(point)) {
+        return distanceTo(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the complex zone to a point without allocating a {@link Point}.
+     * If the point is inside the zone, the distance is 0.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the complex zone
+     */
+    @Override
+    public double distanceTo(double x, double y) {
+        if (distanceCaching) {
+            return coherentDistanceTo(x, y);
+        }
+
+        if (this.contains(x, y)) {
             return 0.0;
         }
 
+        // A leaf can't be closer than its bounding box, so skip leaves whose box is already too far
         double minDistance = Double.MAX_VALUE;
-        for (Zone zone : zones) {
-            minDistance = Math.min(minDistance, zone.distanceTo(point));
+        int leaf = 0;
+        for (int i = 0; i < circles.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, x, y) < minDistance) {
+                minDistance = Math.min(minDistance, circles[i].distanceTo(x, y));
+            }
+        }
+        for (int i = 0; i < polygons.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, x, y) < minDistance) {
+                minDistance = Math.min(minDistance, polygons[i].distanceTo(x, y));
+            }
+        }
+        for (int i = 0; i < others.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, x, y) < minDistance) {
+                minDistance = Math.min(minDistance, others[i].distanceTo(x, y));
+            }
         }
 
         return minDistance;
     }
 
+    /**
+     * Turns on remembering the nearest component between point distance queries, for a point that moves a little
+     * between queries, like the robot's position from one loop to the next.
+     * <p>
+     * No component's distance can change by more than the point moved, so while the remembered component is still
+     * closer than every other one could have become, only that component is measured. Moving any component forgets it.
+     * Queries write to the zone when this is on, so a zone queried from several threads should leave it off.
+     *
+     * @param enabled True to remember the nearest component
+     */
+    public void setDistanceCaching(boolean enabled) {
+        distanceCaching = enabled;
+        nearestLeaf = -1;
+    }
+
+    public boolean isDistanceCaching() {
+        return distanceCaching;
+    }
+
+    private double coherentDistanceTo(double x, double y) {
+        long version = getVersion();
+        if (nearestLeaf >= 0 && nearestLeafVersion == version) {
+            double distance = leaf(nearestLeaf).distanceTo(x, y);
+            if (distance == 0.0) {
+                return 0.0;
+            }
+
+            double moved = Math.hypot(x - nearestQueryX, y - nearestQueryY);
+            if (distance < runnerUpDistance - moved) {
+                return distance;
+            }
+        }
+
+        // Scan every leaf, keeping a lower bound for the ones whose box already rules them out
+        refreshCache();
+        double best = Double.MAX_VALUE;
+        double runnerUp = Double.MAX_VALUE;
+        int bestLeaf = -1;
+        int leafCount = circles.length + polygons.length + others.length;
+        for (int i = 0; i < leafCount; i++) {
+            double distance = leafBoxDistance(i, x, y);
+            if (distance < best) {
+                distance = leaf(i).distanceTo(x, y);
+            }
+
+            if (distance < best) {
+                runnerUp = best;
+                best = distance;
+                bestLeaf = i;
+            } else {
+                runnerUp = Math.min(runnerUp, distance);
+            }
+        }
+
+        nearestLeaf = bestLeaf;
+        nearestLeafVersion = version;
+        nearestQueryX = x;
+        nearestQueryY = y;
+        runnerUpDistance = runnerUp;
+        return best;
+    }
+
+    /**
+     * Gets a leaf by its index in the flattened order: circles, then polygons, then the others.
+     */
+    private Zone leaf(int index) {
+        if (index < circles.length) return circles[index];
+        index -= circles.length;
+        if (index < polygons.length) return polygons[index];
+        return others[index - polygons.length];
+    }
+
     /**
      * Calculates the shortest distance between this complex zone and another zone.
      *
@@ -114,13 +347,87 @@ public class CompositeZone implements Zone {
      */
     @Override
     public double distanceTo(Zone zone) {
+        refreshCache();
+        BoundingBox bounds = zone.getBoundingBox();
+
         double minDistance = Double.MAX_VALUE;
-        for (Zone component : zones) {
-            minDistance = Math.min(minDistance, component.distanceTo(zone));
+        int leaf = 0;
+        for (int i = 0; i < circles.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, bounds) < minDistance) {
+                minDistance = Math.min(minDistance, circles[i].distanceTo(zone));
+            }
+        }
+        for (int i = 0; i < polygons.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, bounds) < minDistance) {
+                minDistance = Math.min(minDistance, polygons[i].distanceTo(zone));
+            }
+        }
+        for (int i = 0; i < others.length; i++, leaf++) {
+            if (leafBoxDistance(leaf, bounds) < minDistance) {
+                minDistance = Math.min(minDistance, others[i].distanceTo(zone));
+            }
         }
         return minDistance;
     }
 
+    /**
+     * Finds how far a ray travels before it reaches any component zone.
+     * A component can't be reached before the ray gets to its bounding box, so components whose box
+     * is farther than the closest hit so far are skipped.
+     *
+     * @param originX The X coordinate where the ray starts
+     * @param originY The Y coordinate where the ray starts
+     * @param heading The direction of the ray in radians
+     * @param maxDistance How far to follow the ray
+     * @return The distance to the zone, 0 if the ray starts inside it, or -1 if it isn't reached within the maximum distance
+     */
+    @Override
+    public double raycast(double originX, double originY, double heading, double maxDistance) {
+        refreshCache();
+
+        double nearest = -1;
+        double limit = maxDistance;
+        int leafCount = circles.length + polygons.length + others.length;
+        for (int i = 0; i < leafCount; i++) {
+            if (leafBoxDistance(i, originX, originY) > limit) continue;
+
+            double distance = leaf(i).raycast(originX, originY, heading, limit);
+            if (distance >= 0) {
+                nearest = distance;
+                limit = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Checks if a segment touches any component zone anywhere along its length.
+     *
+     * @param startX The X coordinate of one end of the segment
+     * @param startY The Y coordinate of one end of the segment
+     * @param endX The X coordinate of the other end of the segment
+     * @param endY The Y coordinate of the other end of the segment
+     * @return True if any point of the segment is inside or on the boundary of the zone
+     */
+    @Override
+    public boolean intersectsSegment(double startX, double startY, double endX, double endY) {
+        refreshCache();
+
+        double segmentMinX = Math.min(startX, endX);
+        double segmentMinY = Math.min(startY, endY);
+        double segmentMaxX = Math.max(startX, endX);
+        double segmentMaxY = Math.max(startY, endY);
+        int leafCount = circles.length + polygons.length + others.length;
+        for (int i = 0; i < leafCount; i++) {
+            boolean boxesOverlap = segmentMaxX >= leafBounds[4 * i] - 1e-9 && segmentMaxY >= leafBounds[4 * i + 1] - 1e-9 &&
+                    segmentMinX <= leafBounds[4 * i + 2] + 1e-9 && segmentMinY <= leafBounds[4 * i + 3] + 1e-9;
+            if (boxesOverlap && leaf(i).intersectsSegment(startX, startY, endX, endY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Calculates the shortest distance from the given point to the complex zone's boundary.
      * Negative if inside, positive if outside.
@@ -130,15 +437,47 @@ public class CompositeZone implements Zone {
      */
     @Override
     public double distanceToBoundary(Point point) {
-        if (!this.contains(point)) {
-            return distanceTo(point);
+        return distanceToBoundary(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the given coordinates to the complex zone's boundary.
+     * Negative if inside, positive if outside.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the boundary.
+     */
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        if (!this.contains(x, y)) {
+            return distanceTo(x, y);
         }
 
         double maxNegativeDistance = Double.NEGATIVE_INFINITY;
         boolean insideAtLeastOne = false;
 
-        for (Zone zone : zones) {
-            double distToBoundary = zone.distanceToBoundary(point);
+        // Only leaves whose box holds the point can have the point inside them
+        int leaf = 0;
+        for (int i = 0; i < circles.length; i++, leaf++) {
+            if (!leafBoxContains(leaf, x, y)) continue;
+            double distToBoundary = circles[i].distanceToBoundary(x, y);
+            if (distToBoundary <= 1e-9) {
+                maxNegativeDistance = Math.max(maxNegativeDistance, distToBoundary);
+                insideAtLeastOne = true;
+            }
+        }
+        for (int i = 0; i < polygons.length; i++, leaf++) {
+            if (!leafBoxContains(leaf, x, y)) continue;
+            double distToBoundary = polygons[i].distanceToBoundary(x, y);
+            if (distToBoundary <= 1e-9) {
+                maxNegativeDistance = Math.max(maxNegativeDistance, distToBoundary);
+                insideAtLeastOne = true;
+            }
+        }
+        for (int i = 0; i < others.length; i++, leaf++) {
+            if (!leafBoxContains(leaf, x, y)) continue;
+            double distToBoundary = others[i].distanceToBoundary(x, y);
             if (distToBoundary <= 1e-9) {
                 maxNegativeDistance = Math.max(maxNegativeDistance, distToBoundary);
                 insideAtLeastOne = true;
@@ -149,7 +488,66 @@ public class CompositeZone implements Zone {
             return maxNegativeDistance;
         }
 
-        return distanceTo(point);
+        return distanceTo(x, y);
+    }
+
+    /**
+     * Finds the nearest boundary point on the same component that {@link #distanceToBoundary(double, double)} measures to:
+     * the nearest component for a point outside, or the one it is least deep inside for a point within.
+     * The result names that component and the edge on it.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param out Receives the nearest boundary point
+     */
+    @Override
+    public void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        refreshCache();
+        int leafCount = circles.length + polygons.length + others.length;
+
+        int nearest = -1;
+        if (this.contains(x, y)) {
+            double maxNegativeDistance = Double.NEGATIVE_INFINITY;
+            for (int leaf = 0; leaf < leafCount; leaf++) {
+                if (!leafBoxContains(leaf, x, y)) continue;
+                double distToBoundary = leaf(leaf).distanceToBoundary(x, y);
+                if (distToBoundary <= 1e-9 && distToBoundary > maxNegativeDistance) {
+                    maxNegativeDistance = distToBoundary;
+                    nearest = leaf;
+                }
+            }
+        }
+
+        if (nearest < 0) {
+            double minDistance = Double.MAX_VALUE;
+            for (int leaf = 0; leaf < leafCount; leaf++) {
+                if (leafBoxDistance(leaf, x, y) >= minDistance) continue;
+                double distance = leaf(leaf).distanceTo(x, y);
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    nearest = leaf;
+                }
+            }
+        }
+
+        leaf(nearest).nearestBoundaryPoint(x, y, out);
+    }
+
+    /**
+     * Grows every component outward. The grown union is the union of the grown components,
+     * so the result stays a complex zone whose queries skip far-away components.
+     *
+     * @param radius How far to grow the zone
+     * @return A complex zone of the grown components, which follow the originals when they move
+     */
+    @Override
+    public Zone inflate(double radius) {
+        // Grow the flattened leaves, so a component shared by several branches is still only moved once
+        List<Zone> grown = new ArrayList<>(circles.length + polygons.length + others.length);
+        for (CircleZone circle : circles) grown.add(circle.inflate(radius));
+        for (PolygonZone polygon : polygons) grown.add(polygon.inflate(radius));
+        for (Zone other : others) grown.add(other.inflate(radius));
+        return new CompositeZone(grown.toArray(new Zone[0]));
     }
 
     /**
@@ -160,8 +558,39 @@ public class CompositeZone implements Zone {
      */
     @Override
     public void moveBy(double deltaX, double deltaY) {
-        for (Zone zone : zones) {
-            zone.moveBy(deltaX, deltaY);
+        checkOtherLeaves();
+        boolean cacheValid = !leavesMoved;
+
+        for (CircleZone circle : circles) {
+            circle.moveBy(deltaX, deltaY);
+        }
+        for (PolygonZone polygon : polygons) {
+            polygon.moveBy(deltaX, deltaY);
+        }
+        for (Zone other : others) {
+            other.moveBy(deltaX, deltaY);
+        }
+
+        if (cacheValid) {
+            // Everything moved together, so shift the cache instead of asking every component again
+            for (int i = 0; i < leafBounds.length; i += 2) {
+                leafBounds[i] += deltaX;
+                leafBounds[i + 1] += deltaY;
+            }
+            minX += deltaX;
+            minY += deltaY;
+            maxX += deltaX;
+            maxY += deltaY;
+            centroidX += deltaX;
+            centroidY += deltaY;
+            cachedCentroid = null;
+            cachedBounds = null;
+
+            // The other leaves were moved along with the rest, which is already accounted for
+            for (int i = 0; i < others.length; i++) {
+                otherVersions[i] = others[i].getVersion();
+            }
+            leavesMoved = false;
         }
     }
 
@@ -174,10 +603,103 @@ public class CompositeZone implements Zone {
      */
     @Override
     public void setPosition(double posX, double posY) {
-        Point currentCenter = getPosition();
-        double deltaX = posX - currentCenter.getX();
-        double deltaY = posY - currentCenter.getY();
+        refreshCache();
+        moveBy(posX - centroidX, posY - centroidY);
+    }
+
+    /**
+     * Gets a counter that changes every time any component zone is moved.
+     * Circles and polygons report their moves as they happen, so only the other kinds of leaves are asked.
+     *
+     * @return The current version of the complex zone
+     */
+    @Override
+    public long getVersion() {
+        checkOtherLeaves();
+        return version;
+    }
+
+    /**
+     * Called by a circle or polygon leaf when it moves.
+     */
+    void leafMoved() {
+        leavesMoved = true;
+        version++;
+    }
+
+    /**
+     * Asks the leaves that can't report their own moves whether they moved. Nothing is written unless one did.
+     */
+    private void checkOtherLeaves() {
+        for (int i = 0; i < others.length; i++) {
+            long otherVersion = others[i].getVersion();
+            if (otherVersion != otherVersions[i]) {
+                otherVersions[i] = otherVersion;
+                leafMoved();
+            }
+        }
+    }
+
+    /**
+     * Re-reads the leaf bounding boxes and the component centers if any leaf has moved since they were last read.
+     * While nothing has moved this only asks the leaves that aren't circles or polygons for their versions,
+     * so a complex zone that wasn't moved is never written to.
+     */
+    private void refreshCache() {
+        checkOtherLeaves();
+        if (!leavesMoved) return;
+
+        minX = Double.POSITIVE_INFINITY;
+        minY = Double.POSITIVE_INFINITY;
+        maxX = Double.NEGATIVE_INFINITY;
+        maxY = Double.NEGATIVE_INFINITY;
+
+        int leaf = 0;
+        for (CircleZone circle : circles) storeLeafBounds(leaf++, circle.getBoundingBox());
+        for (PolygonZone polygon : polygons) storeLeafBounds(leaf++, polygon.getBoundingBox());
+        for (Zone other : others) storeLeafBounds(leaf++, other.getBoundingBox());
+
+        double sumX = 0.0;
+        double sumY = 0.0;
+        for (Zone zone : zones) {
+            Point center = zone.getPosition();
+            sumX += center.getX();
+            sumY += center.getY();
+        }
+        centroidX = sumX / zones.size();
+        centroidY = sumY / zones.size();
+        cachedCentroid = null;
+        cachedBounds = null;
+
+        leavesMoved = false;
+    }
+
+    private void storeLeafBounds(int leaf, BoundingBox bounds) {
+        leafBounds[4 * leaf] = bounds.getMinX();
+        leafBounds[4 * leaf + 1] = bounds.getMinY();
+        leafBounds[4 * leaf + 2] = bounds.getMaxX();
+        leafBounds[4 * leaf + 3] = bounds.getMaxY();
+
+        minX = Math.min(minX, bounds.getMinX());
+        minY = Math.min(minY, bounds.getMinY());
+        maxX = Math.max(maxX, bounds.getMaxX());
+        maxY = Math.max(maxY, bounds.getMaxY());
+    }
+
+    private boolean leafBoxContains(int leaf, double x, double y) {
+        return x >= leafBounds[4 * leaf] - 1e-9 && y >= leafBounds[4 * leaf + 1] - 1e-9 &&
+                x <= leafBounds[4 * leaf + 2] + 1e-9 && y <= leafBounds[4 * leaf + 3] + 1e-9;
+    }
+
+    private double leafBoxDistance(int leaf, double x, double y) {
+        double dx = Math.max(0.0, Math.max(leafBounds[4 * leaf] - x, x - leafBounds[4 * leaf + 2]));
+        double dy = Math.max(0.0, Math.max(leafBounds[4 * leaf + 1] - y, y - leafBounds[4 * leaf + 3]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
 
-        moveBy(deltaX, deltaY);
+    private double leafBoxDistance(int leaf, BoundingBox bounds) {
+        double dx = Math.max(0.0, Math.max(leafBounds[4 * leaf] - bounds.getMaxX(), bounds.getMinX() - leafBounds[4 * leaf + 2]));
+        double dy = Math.max(0.0, Math.max(leafBounds[4 * leaf + 1] - bounds.getMaxY(), bounds.getMinY() - leafBounds[4 * leaf + 3]));
+        return Math.sqrt(dx * dx + dy * dy);
     }
 }
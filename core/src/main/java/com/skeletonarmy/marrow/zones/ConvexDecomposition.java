@@ -0,0 +1,274 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits concave polygons into convex parts.
+ * <p>
+ * The polygon is triangulated by ear clipping, then Hertel-Mehlhorn merging removes every
+ * diagonal whose neighbours stay convex without it. Clipping an ear only changes whether its two
+ * neighbours are ears, so each of the n clips rechecks two corners against the others, and each diagonal
+ * is considered once. That makes the whole split O(n^2), and it never gives more than four times
+ * the minimum number of parts.
+ */
+final class ConvexDecomposition {
+    private static final double EPSILON = 1e-12;
+
+    private ConvexDecomposition() {}
+
+    /**
+     * Splits a simple polygon into convex parts.
+     *
+     * @param xs The X coordinates of the corners, in either winding
+     * @param ys The Y coordinates of the corners, in either winding
+     * @return The parts as pairs of X and Y coordinate arrays in counter-clockwise order,
+     *         or null if the polygon crosses itself or is degenerate
+     */
+    static List<double[][]> decompose(double[] xs, double[] ys) {
+        int n = xs.length;
+        // Clipping ears off a crossed outline can still give parts with the right total area, so check for crossings first
+        if (Geometry.crossesItself(xs, ys, n)) return null;
+
+        double doubleArea = 0.0;
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            doubleArea += xs[i] * ys[next] - xs[next] * ys[i];
+        }
+
+        int[] ring = new int[n];
+        for (int i = 0; i < n; i++) {
+            ring[i] = doubleArea > 0 ? i : n - 1 - i;
+        }
+        int[] corners = removeStraightCorners(xs, ys, ring);
+        if (corners.length < 3) return null;
+
+        List<int[]> triangles = new ArrayList<>(corners.length - 2);
+        List<int[]> diagonals = new ArrayList<>(corners.length - 3);
+        if (!triangulate(xs, ys, corners, triangles, diagonals)) return null;
+        List<List<Integer>> parts = mergeConvexNeighbours(xs, ys, triangles, diagonals);
+
+        // Parts that don't add up to the outline's area mean something was clipped wrong, so don't trust them
+        double partsDoubleArea = 0.0;
+        List<double[][]> result = new ArrayList<>(parts.size());
+        for (List<Integer> part : parts) {
+            double[] partXs = new double[part.size()];
+            double[] partYs = new double[part.size()];
+            for (int i = 0; i < part.size(); i++) {
+                partXs[i] = xs[part.get(i)];
+                partYs[i] = ys[part.get(i)];
+            }
+            for (int i = 0; i < part.size(); i++) {
+                int next = (i + 1) % part.size();
+                partsDoubleArea += partXs[i] * partYs[next] - partXs[next] * partYs[i];
+            }
+            result.add(new double[][] { partXs, partYs });
+        }
+
+        if (Math.abs(partsDoubleArea - Math.abs(doubleArea)) > 1e-9 * Math.max(1.0, Math.abs(doubleArea))) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Drops repeated corners and corners in the middle of a straight edge, which would otherwise stall ear clipping.
+     * Corners are pushed onto a stack, and a corner that turns out to be straight is popped, so each is looked at once.
+     */
+    private static int[] removeStraightCorners(double[] xs, double[] ys, int[] ring) {
+        int[] kept = new int[ring.length];
+        int size = 0;
+        for (int corner : ring) {
+            while (size >= 2 && Math.abs(cross(xs, ys, kept[size - 2], kept[size - 1], corner)) <= EPSILON) {
+                size--;
+            }
+            kept[size++] = corner;
+        }
+
+        // The outline is closed, so the corners where it wraps around need the same check
+        int start = 0;
+        boolean removed = true;
+        while (removed && size - start >= 3) {
+            removed = false;
+            if (Math.abs(cross(xs, ys, kept[size - 2], kept[size - 1], kept[start])) <= EPSILON) {
+                size--;
+                removed = true;
+            } else if (Math.abs(cross(xs, ys, kept[size - 1], kept[start], kept[start + 1])) <= EPSILON) {
+                start++;
+                removed = true;
+            }
+        }
+        return Arrays.copyOfRange(kept, start, size);
+    }
+
+    /**
+     * Clips ears off a counter-clockwise outline until one triangle is left. The remaining corners form a linked ring,
+     * and whether each corner is an ear is remembered, since clipping an ear only changes it for its two neighbours.
+     *
+     * @param triangles Receives the triangles as corner index triples
+     * @param diagonals Receives each cut as the two corners it joins and the triangle it was cut from
+     * @return False if there is no ear to clip, which means the outline crosses itself
+     */
+    private static boolean triangulate(double[] xs, double[] ys, int[] corners, List<int[]> triangles, List<int[]> diagonals) {
+        int count = corners.length;
+        int[] prev = new int[count];
+        int[] next = new int[count];
+        boolean[] ear = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            prev[i] = (i + count - 1) % count;
+            next[i] = (i + 1) % count;
+        }
+        for (int i = 0; i < count; i++) {
+            ear[i] = isEar(xs, ys, corners, next, prev[i], i, next[i], count);
+        }
+
+        int current = 0;
+        int remaining = count;
+        int checked = 0;
+        while (remaining > 3) {
+            if (!ear[current]) {
+                // Every simple polygon has an ear, so going all the way around without one means the outline crosses itself
+                if (++checked > remaining) return false;
+                current = next[current];
+                continue;
+            }
+
+            int before = prev[current];
+            int after = next[current];
+            triangles.add(new int[] { corners[before], corners[current], corners[after] });
+            diagonals.add(new int[] { corners[after], corners[before], triangles.size() - 1 });
+
+            next[before] = after;
+            prev[after] = before;
+            remaining--;
+            ear[before] = isEar(xs, ys, corners, next, prev[before], before, after, remaining);
+            ear[after] = isEar(xs, ys, corners, next, before, after, next[after], remaining);
+
+            // Carry on from the corner before the clipped one, whose ear status just changed
+            current = before;
+            checked = 0;
+        }
+
+        triangles.add(new int[] { corners[prev[current]], corners[current], corners[next[current]] });
+        return true;
+    }
+
+    /**
+     * Checks if a corner of the remaining ring can be clipped: it turns left and no other remaining corner is in its triangle.
+     */
+    private static boolean isEar(double[] xs, double[] ys, int[] corners, int[] next, int before, int current, int after, int remaining) {
+        int a = corners[before];
+        int b = corners[current];
+        int c = corners[after];
+        if (cross(xs, ys, a, b, c) <= EPSILON) return false;
+
+        int other = next[after];
+        for (int i = 3; i < remaining; i++, other = next[other]) {
+            int corner = corners[other];
+            if (corner == a || corner == b || corner == c) continue;
+
+            if (cross(xs, ys, a, b, corner) >= 0 &&
+                    cross(xs, ys, b, c, corner) >= 0 &&
+                    cross(xs, ys, c, a, corner) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes each diagonal once, in the order they were cut, if the part on each side of it stays convex without it.
+     * The parts are tracked with a union-find over the triangles, so finding the two sides of a diagonal is cheap.
+     */
+    private static List<List<Integer>> mergeConvexNeighbours(double[] xs, double[] ys, List<int[]> triangles, List<int[]> diagonals) {
+        int count = triangles.size();
+        int[] parent = new int[count];
+        List<List<Integer>> parts = new ArrayList<>(count);
+        Map<Long, Integer> edgeOwners = new HashMap<>(4 * count);
+        for (int t = 0; t < count; t++) {
+            parent[t] = t;
+            int[] triangle = triangles.get(t);
+            List<Integer> part = new ArrayList<>(3);
+            for (int k = 0; k < 3; k++) {
+                part.add(triangle[k]);
+                edgeOwners.put(edgeKey(triangle[k], triangle[(k + 1) % 3]), t);
+            }
+            parts.add(part);
+        }
+
+        for (int[] diagonal : diagonals) {
+            // The clipped ear walks the diagonal one way and the triangle across it walks it the other
+            Integer across = edgeOwners.get(edgeKey(diagonal[1], diagonal[0]));
+            if (across == null) continue;
+
+            int first = find(parent, diagonal[2]);
+            int second = find(parent, across);
+            List<Integer> joined = mergeAlongEdge(parts.get(first), parts.get(second), diagonal[0], diagonal[1]);
+            if (joined == null || !isConvexAt(xs, ys, joined, 0) || !isConvexAt(xs, ys, joined, parts.get(first).size() - 1)) {
+                continue;
+            }
+
+            parent[second] = first;
+            parts.set(first, joined);
+            parts.set(second, null);
+        }
+
+        List<List<Integer>> merged = new ArrayList<>();
+        for (List<Integer> part : parts) {
+            if (part != null) merged.add(part);
+        }
+        return merged;
+    }
+
+    private static int find(int[] parent, int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Joins two counter-clockwise parts along an edge that the first walks as u to v and the second as v to u.
+     * The joined outline starts at v and reaches u after going around the first part.
+     *
+     * @return The joined outline, or null if the parts don't share the edge
+     */
+    private static List<Integer> mergeAlongEdge(List<Integer> first, List<Integer> second, int u, int v) {
+        int i = first.indexOf(u);
+        int j = second.indexOf(v);
+        if (i < 0 || j < 0 || first.get((i + 1) % first.size()) != v || second.get((j + 1) % second.size()) != u) {
+            return null;
+        }
+
+        // Walk the first part from v around to u, then the second part from u around to v
+        List<Integer> joined = new ArrayList<>(first.size() + second.size() - 2);
+        for (int k = 1; k <= first.size(); k++) {
+            joined.add(first.get((i + k) % first.size()));
+        }
+        for (int k = 2; k < second.size(); k++) {
+            joined.add(second.get((j + k) % second.size()));
+        }
+        return joined;
+    }
+
+    private static boolean isConvexAt(double[] xs, double[] ys, List<Integer> part, int index) {
+        int prev = part.get((index + part.size() - 1) % part.size());
+        int next = part.get((index + 1) % part.size());
+        return cross(xs, ys, prev, part.get(index), next) >= -EPSILON;
+    }
+
+    /**
+     * Positive if the corners turn left, negative if they turn right.
+     */
+    private static double cross(double[] xs, double[] ys, int a, int b, int c) {
+        return (xs[b] - xs[a]) * (ys[c] - ys[b]) - (ys[b] - ys[a]) * (xs[c] - xs[b]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A zone covering the area of one zone with another zone cut out of it,
+ * for example an alliance area without the sub-zone inside it.
+ * <p>
+ * When both zones are polygons, the remaining area is clipped into convex polygon pieces,
+ * so queries never have to evaluate the cut out zone.
+ */
+public class DifferenceZone extends BooleanZone {
+    /**
+     * Constructs a zone covering the area of one zone that is outside another.
+     * Moving this zone moves both of them.
+     *
+     * @param zone The zone to cut from
+     * @param removed The zone to cut out
+     */
+    public DifferenceZone(Zone zone, Zone removed) {
+        super(zone, removed);
+    }
+
+    /**
+     * Cuts each convex part of the removed polygon out of the pieces left so far, starting from the parts
+     * of the first polygon. A piece is split along the edges of a removed part: each new piece lies outside
+     * one edge and inside all the edges before it, so the pieces never overlap.
+     */
+    @Override
+    Zone clip(PolygonZone[] firstParts, PolygonZone[] secondParts) {
+        List<double[][]> pieces = new ArrayList<>();
+        for (PolygonZone firstPart : firstParts) {
+            pieces.add(counterClockwiseCorners(firstPart));
+        }
+
+        for (PolygonZone secondPart : secondParts) {
+            double[][] clip = counterClockwiseCorners(secondPart);
+            int clipCount = clip[0].length;
+            List<double[][]> remainingPieces = new ArrayList<>();
+
+            for (double[][] piece : pieces) {
+                if (!boundsOverlap(piece, clip)) {
+                    remainingPieces.add(piece);
+                    continue;
+                }
+
+                double[][] inside = piece;
+                for (int i = 0; i < clipCount && inside[0].length > 0; i++) {
+                    int next = (i + 1 == clipCount) ? 0 : i + 1;
+
+                    // Reversing the edge keeps the part outside of it
+                    double[][] outside = clipToLeftOf(inside, clip[0][next], clip[1][next], clip[0][i], clip[1][i]);
+                    if (outside[0].length >= 3) {
+                        remainingPieces.add(outside);
+                    }
+                    inside = clipToLeftOf(inside, clip[0][i], clip[1][i], clip[0][next], clip[1][next]);
+                }
+            }
+
+            pieces = remainingPieces;
+        }
+
+        return toZone(pieces);
+    }
+
+    @Override
+    boolean evaluateContains(double x, double y) {
+        // Points on the edge of the removed zone stay, since every zone includes its boundary
+        return first.contains(x, y) && second.distanceToBoundary(x, y) >= -1e-9;
+    }
+
+    @Override
+    double evaluateDistanceToBoundary(double x, double y) {
+        return Math.max(first.distanceToBoundary(x, y), -second.distanceToBoundary(x, y));
+    }
+
+    @Override
+    double evaluateDistanceTo(Zone zone) {
+        return first.distanceTo(zone);
+    }
+
+    @Override
+    boolean evaluateIsFullyInside(Zone zone) {
+        return first.isFullyInside(zone);
+    }
+
+    @Override
+    BoundingBox evaluateBoundingBox() {
+        return first.getBoundingBox();
+    }
+}
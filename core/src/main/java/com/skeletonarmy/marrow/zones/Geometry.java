@@ -0,0 +1,198 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared helpers for the zone implementations.
+ */
+final class Geometry {
+    // Handed out to zones that don't track their own version, so they never look unchanged
+    private static final AtomicLong UNTRACKED_VERSION = new AtomicLong();
+
+    // The gap at which a traced ray is considered to have hit a zone
+    private static final double TRACE_TOLERANCE = 1e-9;
+
+    // Sphere tracing steps before a ray creeping along the boundary switches to fixed steps, and how many of those it gets
+    private static final int MAX_TRACE_STEPS = 1000;
+
+    // How far to either side the boundary distance is sampled when estimating a normal
+    private static final double GRADIENT_STEP = 1e-6;
+
+    private Geometry() {}
+
+    /**
+     * Gets a version number no one has been given before.
+     */
+    static long nextUntrackedVersion() {
+        return UNTRACKED_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Validates the arrays passed to the batch query methods.
+     */
+    static void checkBatchLengths(double[] xs, double[] ys, int outLength) {
+        if (xs.length != ys.length) throw new IllegalArgumentException("X and Y coordinate arrays must have the same length.");
+        if (outLength < xs.length) throw new IllegalArgumentException("Output array is too short for the number of points.");
+    }
+
+    /**
+     * Checks if the segment from p1 to q1 touches the segment from p2 to q2, including at their ends.
+     */
+    static boolean segmentsIntersect(double p1x, double p1y, double q1x, double q1y,
+                                     double p2x, double p2y, double q2x, double q2y) {
+        int o1 = orientation(p1x, p1y, q1x, q1y, p2x, p2y);
+        int o2 = orientation(p1x, p1y, q1x, q1y, q2x, q2y);
+        int o3 = orientation(p2x, p2y, q2x, q2y, p1x, p1y);
+        int o4 = orientation(p2x, p2y, q2x, q2y, q1x, q1y);
+
+        if (o1 != o2 && o3 != o4) return true;
+
+        if (o1 == 0 && onSegment(p1x, p1y, p2x, p2y, q1x, q1y)) return true;
+        if (o2 == 0 && onSegment(p1x, p1y, q2x, q2y, q1x, q1y)) return true;
+        if (o3 == 0 && onSegment(p2x, p2y, p1x, p1y, q2x, q2y)) return true;
+        if (o4 == 0 && onSegment(p2x, p2y, q1x, q1y, q2x, q2y)) return true;
+
+        return false;
+    }
+
+    /**
+     * Checks if any two edges of an outline that don't follow each other touch. Repeated corners are skipped,
+     * so the edges on either side of one still count as following each other. Boxes around each edge are compared
+     * first, so most pairs are ruled out without the full segment test.
+     *
+     * @param count How many of the corners in the arrays are part of the outline
+     */
+    static boolean crossesItself(double[] xs, double[] ys, int count) {
+        int[] corners = new int[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size == 0 || xs[i] != xs[corners[size - 1]] || ys[i] != ys[corners[size - 1]]) {
+                corners[size++] = i;
+            }
+        }
+        while (size > 1 && xs[corners[size - 1]] == xs[corners[0]] && ys[corners[size - 1]] == ys[corners[0]]) {
+            size--;
+        }
+        if (size < 4) return false;
+
+        for (int i = 0; i < size; i++) {
+            int a = corners[i];
+            int b = corners[(i + 1) % size];
+            // The last edge follows on to the first, so it is skipped along with the neighbours of i
+            for (int j = i + 2; j < size && !(i == 0 && j == size - 1); j++) {
+                int c = corners[j];
+                int d = corners[(j + 1) % size];
+                if (Math.max(xs[a], xs[b]) < Math.min(xs[c], xs[d]) || Math.max(xs[c], xs[d]) < Math.min(xs[a], xs[b]) ||
+                        Math.max(ys[a], ys[b]) < Math.min(ys[c], ys[d]) || Math.max(ys[c], ys[d]) < Math.min(ys[a], ys[b])) {
+                    continue;
+                }
+                if (Geometry.segmentsIntersect(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c], xs[d], ys[d])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets which way the corners turn: 0 if they are in a line, 1 for clockwise and 2 for counter-clockwise.
+     */
+    static int orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+        double val = (by - ay) * (cx - bx) - (bx - ax) * (cy - by);
+        if (Math.abs(val) <= 1e-12) return 0;
+        return (val > 0) ? 1 : 2;
+    }
+
+    private static boolean onSegment(double ax, double ay, double bx, double by, double cx, double cy) {
+        return bx <= Math.max(ax, cx) + 1e-12 &&
+                bx + 1e-12 >= Math.min(ax, cx) &&
+                by <= Math.max(ay, cy) + 1e-12 &&
+                by + 1e-12 >= Math.min(ay, cy);
+    }
+
+    /**
+     * Finds where a ray first reaches a zone by sphere tracing. The distance to the zone bounds how far the ray
+     * can go without reaching it, so the ray is stepped forward by that much until the gap closes.
+     * This works for any zone whose distance is exact or a lower bound.
+     * <p>
+     * A ray running nearly along the boundary only creeps forward. Once it has used its steps, the rest of it is
+     * walked in steps of at least a fixed fraction of what is left inside the zone's bounds, and a step that
+     * lands in the zone is narrowed down to where the ray entered. A ray that only skims past counts as a miss.
+     *
+     * @param directionX The X component of the ray's direction, of length 1
+     * @param directionY The Y component of the ray's direction, of length 1
+     * @return The distance along the ray to the zone, or -1 if it isn't reached within the maximum distance
+     */
+    static double traceRay(Zone zone, double originX, double originY, double directionX, double directionY,
+                           double maxDistance) {
+        double travelled = 0.0;
+        double previous = 0.0;
+        double minStep = 0.0;
+        boolean forced = false;
+        for (int i = 0; i < 2 * MAX_TRACE_STEPS; i++) {
+            double distance = zone.distanceTo(originX + directionX * travelled, originY + directionY * travelled);
+            if (distance <= TRACE_TOLERANCE) {
+                // A fixed step may have gone past where the ray entered
+                return forced ? findEntry(zone, originX, originY, directionX, directionY, previous, travelled) : travelled;
+            }
+            if (travelled >= maxDistance) {
+                return -1;
+            }
+
+            if (i == MAX_TRACE_STEPS) {
+                // The part of the ray that can still reach the zone is no longer than the diagonal of its bounds
+                BoundingBox bounds = zone.getBoundingBox();
+                double diagonal = Math.hypot(bounds.getMaxX() - bounds.getMinX(), bounds.getMaxY() - bounds.getMinY());
+                double span = Math.min(maxDistance - travelled, diagonal);
+                if (Double.isInfinite(span) || Double.isNaN(span)) {
+                    return -1;
+                }
+                minStep = span / MAX_TRACE_STEPS;
+            }
+
+            previous = travelled;
+            forced = distance < minStep;
+            if (forced) {
+                travelled = Math.min(travelled + minStep, maxDistance);
+            } else {
+                travelled += distance;
+                if (travelled > maxDistance) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Narrows down where the ray enters the zone, given a distance along it that is outside and one that is inside.
+     */
+    private static double findEntry(Zone zone, double originX, double originY, double directionX, double directionY,
+                                    double outside, double inside) {
+        while (inside - outside > TRACE_TOLERANCE) {
+            double middle = (outside + inside) / 2;
+            if (zone.distanceTo(originX + directionX * middle, originY + directionY * middle) <= TRACE_TOLERANCE) {
+                inside = middle;
+            } else {
+                outside = middle;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Estimates the nearest boundary point of any zone from its signed boundary distance. The distance grows fastest
+     * along the outward normal, so the normal is its gradient, and the nearest point is that far back along it.
+     */
+    static void estimateNearest(Zone zone, double x, double y, NearestPoint out) {
+        double distance = zone.distanceToBoundary(x, y);
+        double gradientX = zone.distanceToBoundary(x + GRADIENT_STEP, y) - zone.distanceToBoundary(x - GRADIENT_STEP, y);
+        double gradientY = zone.distanceToBoundary(x, y + GRADIENT_STEP) - zone.distanceToBoundary(x, y - GRADIENT_STEP);
+        double length = Math.hypot(gradientX, gradientY);
+
+        // On a ridge the distance is the same every way, so any direction is as near as another
+        double normalX = length > 0 ? gradientX / length : 1.0;
+        double normalY = length > 0 ? gradientY / length : 0.0;
+        out.set(x - normalX * distance, y - normalY * distance, normalX, normalY, distance, -1, zone);
+    }
+}
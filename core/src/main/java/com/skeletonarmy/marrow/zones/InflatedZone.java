@@ -0,0 +1,257 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A zone grown outward by a fixed radius, covering every point within that radius of another zone.
+ * Growing a polygon rounds its corners.
+ * <p>
+ * Growing obstacles by the robot's radius turns a footprint-versus-obstacle check into a check of
+ * the robot's center point. Every query is answered from the original zone's distances, so nothing
+ * is built up front and the grown zone follows the original when it moves.
+ */
+public class InflatedZone implements Zone {
+    // Steps each rounded corner is approximated with per half turn, for the rare checks that need a polygon
+    private static final int ARC_STEPS_PER_HALF_TURN = 8;
+
+    private final Zone zone;
+    private final double radius;
+
+    private BoundingBox cachedBounds;
+    private long boundsVersion;
+
+    /**
+     * Constructs a zone covering every point within a radius of another zone.
+     * Moving this zone moves the original.
+     *
+     * @param zone The zone to grow
+     * @param radius How far to grow the zone outward
+     */
+    public InflatedZone(Zone zone, double radius) {
+        if (zone == null) throw new IllegalArgumentException("A zone must be provided.");
+        if (radius < 0) throw new IllegalArgumentException("Radius can't be negative.");
+
+        this.zone = zone;
+        this.radius = radius;
+    }
+
+    public Zone getZone() {
+        return zone;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    @Override
+    public Point getPosition() {
+        return zone.getPosition();
+    }
+
+    /**
+     * Gets the original zone's bounding box grown by the radius.
+     * The box is cached until the original zone moves.
+     *
+     * @return The bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        long version = zone.getVersion();
+        if (cachedBounds == null || version != boundsVersion) {
+            BoundingBox bounds = zone.getBoundingBox();
+            cachedBounds = new BoundingBox(bounds.getMinX() - radius, bounds.getMinY() - radius,
+                    bounds.getMaxX() + radius, bounds.getMaxY() + radius);
+            boundsVersion = version;
+        }
+        return cachedBounds;
+    }
+
+    @Override
+    public boolean contains(Point point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Determines if a point is within the radius of the original zone.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return True if the point is inside or on the boundary of the grown zone
+     */
+    @Override
+    public boolean contains(double x, double y) {
+        return zone.distanceTo(x, y) <= radius + 1e-9;
+    }
+
+    @Override
+    public boolean isInside(Zone zone) {
+        if (!getBoundingBox().intersects(zone.getBoundingBox())) {
+            return false;
+        }
+        return this.distanceTo(zone) <= 1e-9;
+    }
+
+    /**
+     * Checks if the grown zone is fully contained within another zone.
+     * Circles are checked exactly. Polygons are checked through a polygon drawn just outside each rounded corner,
+     * which can reject a grown zone that only barely fits.
+     *
+     * @param zone The zone to check against
+     * @return True if this zone is fully contained within the other zone
+     */
+    @Override
+    public boolean isFullyInside(Zone zone) {
+        if (!zone.getBoundingBox().contains(getBoundingBox(), 1e-9)) {
+            return false;
+        }
+        if (radius == 0) {
+            return this.zone.isFullyInside(zone);
+        }
+
+        if (this.zone instanceof CircleZone) {
+            CircleZone circle = (CircleZone) this.zone;
+            return new CircleZone(circle.getPosition(), circle.getRadius() + radius).isFullyInside(zone);
+        }
+
+        if (this.zone instanceof PolygonZone) {
+            PolygonZone[] parts = ((PolygonZone) this.zone).getConvexParts();
+            if (parts != null) {
+                // The grown polygon is the union of its grown convex parts
+                for (PolygonZone part : parts) {
+                    if (!roundedOutline(part).isFullyInside(zone)) return false;
+                }
+                return true;
+            }
+        }
+
+        // Anything else is checked through its grown bounding box, which holds the whole grown zone
+        BoundingBox bounds = getBoundingBox();
+        // A zone that doesn't know its extent can't be shown to fit
+        if (Double.isInfinite(bounds.getMaxX() - bounds.getMinX()) || Double.isInfinite(bounds.getMaxY() - bounds.getMinY())) {
+            return false;
+        }
+        return new PolygonZone(
+                new Point(bounds.getMinX(), bounds.getMinY()), new Point(bounds.getMaxX(), bounds.getMinY()),
+                new Point(bounds.getMaxX(), bounds.getMaxY()), new Point(bounds.getMinX(), bounds.getMaxY())
+        ).isFullyInside(zone);
+    }
+
+    @Override
+    public double distanceTo(Point point) {
+        return distanceTo(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the grown zone to a point. If the point is inside, the distance is 0.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The distance to the original zone, less the radius
+     */
+    @Override
+    public double distanceTo(double x, double y) {
+        return Math.max(0.0, zone.distanceTo(x, y) - radius);
+    }
+
+    /**
+     * Calculates the shortest distance between the grown zone and another zone.
+     *
+     * @param zone The zone to measure the distance to
+     * @return The distance between the original zone and the other zone, less the radius
+     */
+    @Override
+    public double distanceTo(Zone zone) {
+        return Math.max(0.0, this.zone.distanceTo(zone) - radius);
+    }
+
+    @Override
+    public double distanceToBoundary(Point point) {
+        return distanceToBoundary(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the given coordinates to the grown zone's boundary.
+     * Negative if the point is inside, positive if outside. This is the original zone's signed distance less
+     * the radius, which is exact outside the grown zone and everywhere for a convex original. Inside a concave
+     * original, growing can fill in its notches, so the grown boundary may be farther away than this.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The signed distance to the boundary, or an upper bound on it inside a concave original
+     */
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        return zone.distanceToBoundary(x, y) - radius;
+    }
+
+    /**
+     * Finds the point on the grown zone's boundary nearest to a point. The grown boundary is the original's moved out
+     * along its normals, so this is the original's nearest point stepped out by the radius, with the same normal.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param out Receives the nearest boundary point
+     */
+    @Override
+    public void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        zone.nearestBoundaryPoint(x, y, out);
+        out.set(out.getX() + out.getNormalX() * radius, out.getY() + out.getNormalY() * radius,
+                out.getNormalX(), out.getNormalY(), out.getDistance() - radius, out.getEdgeIndex(), out.getZone());
+    }
+
+    /**
+     * Moves the original zone.
+     *
+     * @param deltaX The amount to move in the X direction
+     * @param deltaY The amount to move in the Y direction
+     */
+    @Override
+    public void moveBy(double deltaX, double deltaY) {
+        zone.moveBy(deltaX, deltaY);
+    }
+
+    @Override
+    public void setPosition(double posX, double posY) {
+        zone.setPosition(posX, posY);
+    }
+
+    @Override
+    public long getVersion() {
+        return zone.getVersion();
+    }
+
+    /**
+     * Builds a polygon around a grown convex polygon. Each edge is pushed out by the radius, and each corner's arc is
+     * replaced by lines touching it, so the polygon holds the whole grown shape.
+     */
+    private PolygonZone roundedOutline(PolygonZone convex) {
+        double[][] corners = BooleanZone.counterClockwiseCorners(convex);
+        double[] xs = corners[0];
+        double[] ys = corners[1];
+        int count = xs.length;
+
+        List<Point> outline = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int prev = (i + count - 1) % count;
+            int next = (i + 1) % count;
+
+            // Outward normals of a counter-clockwise polygon point to the right of each edge
+            double startAngle = Math.atan2(-(xs[i] - xs[prev]), ys[i] - ys[prev]);
+            double endAngle = Math.atan2(-(xs[next] - xs[i]), ys[next] - ys[i]);
+            double turn = endAngle - startAngle;
+            if (turn <= -Math.PI) turn += 2 * Math.PI;
+            if (turn > Math.PI) turn -= 2 * Math.PI;
+            turn = Math.max(0.0, turn);
+
+            int steps = Math.max(1, (int) Math.ceil(turn * ARC_STEPS_PER_HALF_TURN / Math.PI));
+            double step = turn / steps;
+            double reach = radius / Math.cos(step / 2);
+            for (int j = 0; j < steps; j++) {
+                double angle = startAngle + (j + 0.5) * step;
+                outline.add(new Point(xs[i] + reach * Math.cos(angle), ys[i] + reach * Math.sin(angle)));
+            }
+        }
+        return new PolygonZone(outline.toArray(new Point[0]));
+    }
+}
@@ -0,0 +1,74 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A zone covering only the area shared by two zones.
+ * <p>
+ * When both zones are polygons, their overlap is clipped into convex polygons, so queries
+ * cost the same as querying plain polygons. Two convex polygons always overlap in a single polygon.
+ */
+public class IntersectionZone extends BooleanZone {
+    /**
+     * Constructs a zone covering the area inside both zones.
+     * Moving this zone moves both of them.
+     *
+     * @param first The first zone
+     * @param second The second zone
+     */
+    public IntersectionZone(Zone first, Zone second) {
+        super(first, second);
+    }
+
+    /**
+     * Clips every convex part of the first polygon against every convex part of the second.
+     * The overlap of two convex parts is the first part cut by each edge of the second.
+     */
+    @Override
+    Zone clip(PolygonZone[] firstParts, PolygonZone[] secondParts) {
+        List<double[][]> pieces = new ArrayList<>();
+        for (PolygonZone firstPart : firstParts) {
+            double[][] subject = counterClockwiseCorners(firstPart);
+
+            for (PolygonZone secondPart : secondParts) {
+                double[][] clip = counterClockwiseCorners(secondPart);
+                if (!boundsOverlap(subject, clip)) continue;
+
+                double[][] piece = subject;
+                int clipCount = clip[0].length;
+                for (int i = 0; i < clipCount && piece[0].length > 0; i++) {
+                    int next = (i + 1 == clipCount) ? 0 : i + 1;
+                    piece = clipToLeftOf(piece, clip[0][i], clip[1][i], clip[0][next], clip[1][next]);
+                }
+                pieces.add(piece);
+            }
+        }
+        return toZone(pieces);
+    }
+
+    @Override
+    boolean evaluateContains(double x, double y) {
+        return first.contains(x, y) && second.contains(x, y);
+    }
+
+    @Override
+    double evaluateDistanceToBoundary(double x, double y) {
+        return Math.max(first.distanceToBoundary(x, y), second.distanceToBoundary(x, y));
+    }
+
+    @Override
+    double evaluateDistanceTo(Zone zone) {
+        return Math.max(first.distanceTo(zone), second.distanceTo(zone));
+    }
+
+    @Override
+    boolean evaluateIsFullyInside(Zone zone) {
+        return first.isFullyInside(zone) || second.isFullyInside(zone);
+    }
+
+    @Override
+    BoundingBox evaluateBoundingBox() {
+        return first.getBoundingBox().intersection(second.getBoundingBox());
+    }
+}
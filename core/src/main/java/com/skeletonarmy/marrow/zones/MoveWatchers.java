@@ -0,0 +1,37 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The complex zones built from a circle or polygon, told whenever it moves so they don't have to ask every
+ * component before each query. They are held weakly, so a component that outlives them doesn't keep them alive.
+ */
+final class MoveWatchers {
+    private final List<WeakReference<CompositeZone>> composites = new ArrayList<>(1);
+
+    void add(CompositeZone composite) {
+        removeCleared();
+        composites.add(new WeakReference<>(composite));
+    }
+
+    void notifyMoved() {
+        for (int i = composites.size() - 1; i >= 0; i--) {
+            CompositeZone composite = composites.get(i).get();
+            if (composite == null) {
+                composites.remove(i);
+            } else {
+                composite.leafMoved();
+            }
+        }
+    }
+
+    private void removeCleared() {
+        for (int i = composites.size() - 1; i >= 0; i--) {
+            if (composites.get(i).get() == null) {
+                composites.remove(i);
+            }
+        }
+    }
+}
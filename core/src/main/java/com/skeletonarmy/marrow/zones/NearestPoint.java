@@ -0,0 +1,93 @@
+package com.skeletonarmy.marrow.zones;
+
+import android.annotation.SuppressLint;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The point on a zone's boundary nearest to a query point, filled in by {@link Zone#nearestBoundaryPoint}.
+ * <p>
+ * Create one and pass it to every query, so wall-following or push-away code allocates nothing per loop.
+ * Each query overwrites all of its values.
+ */
+public final class NearestPoint {
+    private double x;
+    private double y;
+    private double normalX;
+    private double normalY;
+    private double distance;
+    private int edgeIndex = -1;
+    private Zone zone;
+
+    void set(double x, double y, double normalX, double normalY, double distance, int edgeIndex, Zone zone) {
+        this.x = x;
+        this.y = y;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.distance = distance;
+        this.edgeIndex = edgeIndex;
+        this.zone = zone;
+    }
+
+    /**
+     * Gets the X coordinate of the nearest boundary point.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the Y coordinate of the nearest boundary point.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the X component of the boundary's outward normal at the nearest point. The normal has length 1.
+     */
+    public double getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * Gets the Y component of the boundary's outward normal at the nearest point. The normal has length 1.
+     */
+    public double getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * Gets the signed distance from the query point to the boundary, the same as {@link Zone#distanceToBoundary(double, double)}.
+     * Negative if the query point is inside, positive if outside.
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Gets the index of the polygon edge the nearest point lies on, where edge i runs from corner i to corner i + 1.
+     * A point at a corner reports one of the two edges that meet there.
+     *
+     * @return The edge index, or -1 if the boundary isn't made of edges
+     */
+    public int getEdgeIndex() {
+        return edgeIndex;
+    }
+
+    /**
+     * Gets the zone whose boundary the nearest point lies on. For complex and grown zones,
+     * this is the circle or polygon the point was found on. Queries through a {@link ZoneSnapshot} name the snapshot.
+     */
+    public Zone getZone() {
+        return zone;
+    }
+
+    @SuppressLint("DefaultLocale")
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format("NearestPoint(x=%.3f, y=%.3f, normal=(%.3f, %.3f), distance=%.3f, edge=%d)",
+                x, y, normalX, normalY, distance, edgeIndex);
+    }
+}
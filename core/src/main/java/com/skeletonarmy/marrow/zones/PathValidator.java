@@ -0,0 +1,175 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Checks many candidate paths against a set of keep-out zones at once, such as every autonomous path before a match.
+ * <p>
+ * The paths are split across all cores with fork/join. Zones aren't safe to query from several threads,
+ * so the validator takes a {@link ZoneSnapshot} of each zone when it is built and only ever queries those.
+ * Each point is checked with the same {@link Zone#contains(double, double)} and {@link Zone#distanceTo(double, double)}
+ * calls a loop would make, so the results match the checks done while driving.
+ */
+public class PathValidator {
+    /**
+     * The first point of a path that enters a zone.
+     */
+    public static final class Violation {
+        private final int pathIndex;
+        private final int pointIndex;
+        private final Point point;
+        private final Zone zone;
+
+        Violation(int pathIndex, int pointIndex, Point point, Zone zone) {
+            this.pathIndex = pathIndex;
+            this.pointIndex = pointIndex;
+            this.point = point;
+            this.zone = zone;
+        }
+
+        public int getPathIndex() {
+            return pathIndex;
+        }
+
+        public int getPointIndex() {
+            return pointIndex;
+        }
+
+        public Point getPoint() {
+            return point;
+        }
+
+        /**
+         * Gets the zone the point entered, as it was passed to the validator.
+         */
+        public Zone getZone() {
+            return zone;
+        }
+
+        @Override
+        public String toString() {
+            return "Violation{path=" + pathIndex + ", point=" + pointIndex + " " + point + "}";
+        }
+    }
+
+    // Paths are split until a task has this many, so short paths aren't each given a task of their own
+    private static final int PATHS_PER_TASK = 4;
+
+    private final Zone[] zones;
+    private final ZoneSnapshot[] snapshots;
+    private final double clearance;
+
+    /**
+     * Creates a validator that rejects points inside or on the boundary of any of the zones.
+     *
+     * @param zones The zones paths must stay out of
+     */
+    public PathValidator(Zone... zones) {
+        this(0.0, zones);
+    }
+
+    /**
+     * Creates a validator that rejects points closer than a clearance to any of the zones.
+     * The zones are copied as they are now, so moving them afterwards doesn't affect the validator.
+     *
+     * @param clearance How far points must stay from the zones, or 0 to only reject points inside them
+     * @param zones The zones paths must stay out of
+     */
+    public PathValidator(double clearance, Zone... zones) {
+        if (clearance < 0) throw new IllegalArgumentException("Clearance can't be negative.");
+
+        this.zones = zones.clone();
+        this.snapshots = new ZoneSnapshot[zones.length];
+        for (int i = 0; i < zones.length; i++) {
+            snapshots[i] = ZoneSnapshot.of(zones[i]);
+        }
+        this.clearance = clearance;
+    }
+
+    /**
+     * Checks every path using the shared fork/join pool.
+     *
+     * @param paths The paths to check, each a sequence of points
+     * @return The first violation of each path, in the same order as the paths, with null for paths that are clear
+     */
+    public Violation[] validate(List<Point[]> paths) {
+        return validate(paths, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Checks every path using the given fork/join pool.
+     *
+     * @param paths The paths to check, each a sequence of points
+     * @param pool The pool to run the checks on
+     * @return The first violation of each path, in the same order as the paths, with null for paths that are clear
+     */
+    public Violation[] validate(List<Point[]> paths, ForkJoinPool pool) {
+        Violation[] violations = new Violation[paths.size()];
+        if (!paths.isEmpty()) {
+            pool.invoke(new ValidateTask(paths, violations, 0, paths.size()));
+        }
+        return violations;
+    }
+
+    /**
+     * Checks a single path on the calling thread.
+     *
+     * @param path The points of the path
+     * @return The first point that violates a zone, or null if the path is clear
+     */
+    public Violation findViolation(Point[] path) {
+        return findViolation(path, 0);
+    }
+
+    private Violation findViolation(Point[] path, int pathIndex) {
+        for (int i = 0; i < path.length; i++) {
+            double x = path[i].getX();
+            double y = path[i].getY();
+
+            for (int j = 0; j < snapshots.length; j++) {
+                boolean violates = clearance == 0.0
+                        ? snapshots[j].contains(x, y)
+                        : snapshots[j].distanceTo(x, y) < clearance;
+                if (violates) {
+                    return new Violation(pathIndex, i, path[i], zones[j]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks a range of paths, splitting it in half until it is small enough to check directly.
+     * Each path writes only its own slot of the results.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private class ValidateTask extends RecursiveAction {
+        private final List<Point[]> paths;
+        private final Violation[] violations;
+        private final int start;
+        private final int end;
+
+        ValidateTask(List<Point[]> paths, Violation[] violations, int start, int end) {
+            this.paths = paths;
+            this.violations = violations;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= PATHS_PER_TASK) {
+                for (int i = start; i < end; i++) {
+                    violations[i] = findViolation(paths.get(i), i);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new ValidateTask(paths, violations, start, middle),
+                    new ValidateTask(paths, violations, middle, end));
+        }
+    }
+}
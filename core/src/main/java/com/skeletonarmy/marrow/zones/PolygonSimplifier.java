@@ -0,0 +1,215 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Removes corners that barely change a polygon's shape, such as the near-straight runs in outlines traced from CAD.
+ * Every polygon query costs time for each corner, so dropping them speeds up every check against the zone.
+ * <p>
+ * This uses the Ramer-Douglas-Peucker algorithm. The outline is split at the corner farthest from the first one,
+ * and each half is kept as a single edge unless some corner is farther from it than the tolerance, in which case
+ * the farthest corner is kept and both sides are simplified the same way.
+ */
+public final class PolygonSimplifier {
+    /**
+     * A simplified polygon and how far it strays from the original.
+     */
+    public static final class Result {
+        private final PolygonZone polygon;
+        private final double maxDeviation;
+        private final int removedCorners;
+
+        Result(PolygonZone polygon, double maxDeviation, int removedCorners) {
+            this.polygon = polygon;
+            this.maxDeviation = maxDeviation;
+            this.removedCorners = removedCorners;
+        }
+
+        public PolygonZone getPolygon() {
+            return polygon;
+        }
+
+        /**
+         * Gets the farthest any point of the original outline is from the simplified one.
+         * This is at most the tolerance, unless the whole outline was thinner than the tolerance and was kept as a triangle.
+         */
+        public double getMaxDeviation() {
+            return maxDeviation;
+        }
+
+        public int getRemovedCorners() {
+            return removedCorners;
+        }
+    }
+
+    // Each retry halves the tolerance, and the last one only drops corners that are exactly in line
+    private static final int MAX_ATTEMPTS = 20;
+
+    private PolygonSimplifier() {}
+
+    /**
+     * Simplifies a polygon at its current pose. The simplified polygon is built from field coordinates,
+     * so its position is the average of its corners and its rotation starts at 0.
+     *
+     * @param polygon The polygon to simplify
+     * @param tolerance How far the outline may move, in field units
+     * @return The simplified polygon and how far it strays from the original
+     */
+    public static Result simplify(PolygonZone polygon, double tolerance) {
+        Point[] corners = new Point[polygon.getCornerCount()];
+        for (int i = 0; i < corners.length; i++) {
+            corners[i] = new Point(polygon.getCornerX(i), polygon.getCornerY(i));
+        }
+        return simplify(tolerance, corners);
+    }
+
+    /**
+     * Simplifies a polygon outline given as corners, such as one imported from a drawing.
+     * If removing corners would make the outline cross itself, the tolerance is lowered until it doesn't.
+     *
+     * @param tolerance How far the outline may move, in field units
+     * @param corners The corners of the outline, in order
+     * @return The simplified polygon and how far it strays from the original
+     */
+    public static Result simplify(double tolerance, Point... corners) {
+        if (tolerance < 0) throw new IllegalArgumentException("Tolerance can't be negative.");
+        if (corners.length < 3) throw new IllegalArgumentException("Not enough points to create a polygon. Minimum is 3.");
+
+        int count = corners.length;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = corners[i].getX();
+            ys[i] = corners[i].getY();
+        }
+        boolean simple = !Geometry.crossesItself(xs, ys, count);
+
+        double[] keptXs = new double[count];
+        double[] keptYs = new double[count];
+        for (int attempt = 1; ; attempt++) {
+            if (attempt == MAX_ATTEMPTS) tolerance = 0;
+
+            boolean[] keep = new boolean[count];
+            double maxDeviation = markKeptCorners(xs, ys, tolerance, keep);
+
+            List<Point> kept = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (keep[i]) {
+                    keptXs[kept.size()] = xs[i];
+                    keptYs[kept.size()] = ys[i];
+                    kept.add(corners[i]);
+                }
+            }
+
+            // An outline that didn't cross itself before shouldn't start to
+            if (!simple || tolerance == 0 || !Geometry.crossesItself(keptXs, keptYs, kept.size())) {
+                return new Result(new PolygonZone(kept.toArray(new Point[0])), maxDeviation, count - kept.size());
+            }
+            tolerance /= 2;
+        }
+    }
+
+    /**
+     * Marks the corners to keep.
+     *
+     * @return The farthest distance from a dropped corner to the edge that replaced it
+     */
+    private static double markKeptCorners(double[] xs, double[] ys, double tolerance, boolean[] keep) {
+        int count = xs.length;
+
+        // A closed outline has no ends, so split it at the corner farthest from the first one
+        int far = 1;
+        double farDistanceSq = 0.0;
+        for (int i = 1; i < count; i++) {
+            double dx = xs[i] - xs[0];
+            double dy = ys[i] - ys[0];
+            if (dx * dx + dy * dy > farDistanceSq) {
+                farDistanceSq = dx * dx + dy * dy;
+                far = i;
+            }
+        }
+        keep[0] = true;
+        keep[far] = true;
+
+        // Runs of corners between two kept corners, as index pairs; the second half wraps back to corner 0
+        Deque<int[]> runs = new ArrayDeque<>();
+        runs.push(new int[] { 0, far });
+        runs.push(new int[] { far, count });
+
+        double maxDeviation = 0.0;
+        while (!runs.isEmpty()) {
+            int[] run = runs.pop();
+            int start = run[0];
+            int end = run[1];
+            if (end - start < 2) continue;
+
+            int endCorner = end % count;
+            int farthest = -1;
+            double farthestDistance = -1.0;
+            for (int i = start + 1; i < end; i++) {
+                double distance = distanceToSegment(xs[i], ys[i], xs[start], ys[start], xs[endCorner], ys[endCorner]);
+                if (distance > farthestDistance) {
+                    farthestDistance = distance;
+                    farthest = i;
+                }
+            }
+
+            if (farthestDistance > tolerance) {
+                keep[farthest] = true;
+                runs.push(new int[] { start, farthest });
+                runs.push(new int[] { farthest, end });
+            } else {
+                maxDeviation = Math.max(maxDeviation, farthestDistance);
+            }
+        }
+
+        // A triangle is the least a polygon can be, so a collapsed outline keeps its farthest remaining corner
+        int keptCount = 0;
+        for (boolean kept : keep) if (kept) keptCount++;
+        if (keptCount < 3) {
+            int farthest = -1;
+            double farthestDistance = -1.0;
+            for (int i = 0; i < count; i++) {
+                if (keep[i]) continue;
+                double distance = distanceToSegment(xs[i], ys[i], xs[0], ys[0], xs[far], ys[far]);
+                if (distance > farthestDistance) {
+                    farthestDistance = distance;
+                    farthest = i;
+                }
+            }
+            keep[farthest] = true;
+            maxDeviation = measureDeviation(xs, ys, keep);
+        }
+
+        return maxDeviation;
+    }
+
+    /**
+     * Measures the farthest distance from a dropped corner to the edge between the kept corners around it.
+     */
+    private static double measureDeviation(double[] xs, double[] ys, boolean[] keep) {
+        int count = xs.length;
+        double maxDeviation = 0.0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) continue;
+
+            int before = i;
+            while (!keep[before]) before = (before + count - 1) % count;
+            int after = i;
+            while (!keep[after]) after = (after + 1) % count;
+            maxDeviation = Math.max(maxDeviation, distanceToSegment(xs[i], ys[i], xs[before], ys[before], xs[after], ys[after]));
+        }
+        return maxDeviation;
+    }
+
+    private static double distanceToSegment(double x, double y, double ax, double ay, double bx, double by) {
+        double edgeX = bx - ax;
+        double edgeY = by - ay;
+        double lengthSq = edgeX * edgeX + edgeY * edgeY;
+        double t = lengthSq == 0 ? 0.0 : Math.max(0.0, Math.min(1.0, ((x - ax) * edgeX + (y - ay) * edgeY) / lengthSq));
+        return Math.hypot(x - ax - t * edgeX, y - ay - t * edgeY);
+    }
+}
@@ -1,79 +1,208 @@
 package com.skeletonarmy.marrow.zones;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A polygon-based zone on the field.
  */
 public class PolygonZone implements Zone {
-    private final Point[] corners;
+    private static final double BOUNDARY_EPSILON = 1e-9;
+    private static final double BOUNDARY_EPSILON_SQ = 1e-18; // 1e-9 squared
+
+    // The shape is stored once relative to the polygon's own origin and placed on the field by a pose.
+    // Moving or rotating the polygon only updates the pose, and point queries are transformed into the
+    // local frame instead of transforming every corner. This also keeps rotations from accumulating drift.
+    private final double[] localXs;
+    private final double[] localYs;
+    private final boolean convex;
+
+    private double poseX;
+    private double poseY;
     private double rotation;
+    private double cos;
+    private double sin;
+    private long version;
+
+    // Per-edge data for local edge i, which runs from corner i to corner i + 1.
+    // The local shape never changes, so this is computed once.
+    private double[] edgeDxs;
+    private double[] edgeDys;
+    private double[] edgeInverseSlopes;
+    private double[] edgeInverseLengthsSq;
+    private double localMinX, localMinY, localMaxX, localMaxY;
+    private boolean counterClockwise;
+
+    // Field coordinates of the corners, only rebuilt when something needs them after the pose changed
+    private double[] xs;
+    private double[] ys;
+    private boolean cornersDirty;
 
     private Point cachedCentroid;
-    private boolean centroidDirty;
+
+    // The complex zones to tell when the polygon moves, or null if it isn't in any.
+    // Copies and convex parts never get any, so re-posing them doesn't tell anyone.
+    private MoveWatchers watchers;
+
+    // Concave polygons are split into convex parts in the same local frame, which follow this polygon's pose.
+    // The split is only made the first time a part is needed. Null if the polygon is convex or crosses itself.
+    private PolygonZone[] convexParts;
+    private boolean convexPartsSplit;
+    private long convexPartsVersion = -1;
+
+    private double minX, minY, maxX, maxY;
+    private boolean boundsDirty;
+    private BoundingBox cachedBounds;
+
+    // Opt-in memory of the edge nearest to the last fully scanned point, all in the local frame.
+    // The runner-up distance is how far the closest of the other edges was from that point.
+    private boolean distanceCaching;
+    private int nearestEdge = -1;
+    private double nearestQueryX, nearestQueryY;
+    private double runnerUpDistance;
 
     public PolygonZone(Point... points) {
         if (points.length < 3) throw new IllegalArgumentException("Not enough points to create a polygon. Minimum is 3.");
-        this.corners = points;
-        this.rotation = 0.0;
-        this.centroidDirty = true;
+
+        double sumX = 0.0;
+        double sumY = 0.0;
+        for (Point point : points) {
+            sumX += point.getX();
+            sumY += point.getY();
+        }
+        this.poseX = sumX / points.length;
+        this.poseY = sumY / points.length;
+
+        this.localXs = new double[points.length];
+        this.localYs = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            localXs[i] = points[i].getX() - poseX;
+            localYs[i] = points[i].getY() - poseY;
+        }
+        this.convex = isConvex(localXs, localYs);
+        initializeShape(0.0);
     }
 
-    public PolygonZone(double width, double height) {
-        double halfWidth = width / 2.0;
-        double halfHeight = height / 2.0;
+    /**
+     * Creates one convex part of a concave polygon. The corners are already relative to the parent's origin.
+     */
+    PolygonZone(double[] localXs, double[] localYs) {
+        this.localXs = localXs;
+        this.localYs = localYs;
+        this.convex = isConvex(localXs, localYs);
+        initializeShape(0.0);
+    }
+
+    /**
+     * Copies a polygon at its current pose. The local shape and edge data never change after construction,
+     * so they are shared instead of copied.
+     */
+    PolygonZone(PolygonZone other) {
+        this.localXs = other.localXs;
+        this.localYs = other.localYs;
+        this.convex = other.convex;
+        this.edgeDxs = other.edgeDxs;
+        this.edgeDys = other.edgeDys;
+        this.edgeInverseSlopes = other.edgeInverseSlopes;
+        this.edgeInverseLengthsSq = other.edgeInverseLengthsSq;
+        this.localMinX = other.localMinX;
+        this.localMinY = other.localMinY;
+        this.localMaxX = other.localMaxX;
+        this.localMaxY = other.localMaxY;
+        this.counterClockwise = other.counterClockwise;
+
+        this.convexPartsSplit = other.convexPartsSplit;
+        if (other.convexParts != null) {
+            this.convexParts = new PolygonZone[other.convexParts.length];
+            for (int i = 0; i < convexParts.length; i++) {
+                convexParts[i] = new PolygonZone(other.convexParts[i]);
+            }
+        }
 
-        this.corners = new Point[] {
-                new Point(-halfWidth, -halfHeight),
-                new Point(halfWidth, -halfHeight),
-                new Point(halfWidth, halfHeight),
-                new Point(-halfWidth, halfHeight)
-        };
-        this.rotation = 0.0;
-        this.centroidDirty = true;
+        this.poseX = other.poseX;
+        this.poseY = other.poseY;
+        this.rotation = other.rotation;
+        this.cos = other.cos;
+        this.sin = other.sin;
+        this.version = other.version;
+        this.xs = new double[localXs.length];
+        this.ys = new double[localYs.length];
+        this.cornersDirty = true;
+        this.boundsDirty = true;
+    }
+
+    /**
+     * Reads a local shape written by {@link #writeShape(DataOutputStream)}. The edge data, bounds and convex parts
+     * are read as they were written instead of being computed again, and the polygon starts at the origin.
+     * Only the counts and the convex flag are checked, since a wrong count or flag would fail deep inside a later query.
+     */
+    private PolygonZone(ByteBuffer in) {
+        int numVertices = in.getInt();
+        if (numVertices < 3) {
+            throw new IllegalArgumentException("Saved polygon has " + numVertices + " corners. Minimum is 3.");
+        }
+        this.convex = in.get() != 0;
+        this.counterClockwise = in.get() != 0;
+        this.localMinX = in.getDouble();
+        this.localMinY = in.getDouble();
+        this.localMaxX = in.getDouble();
+        this.localMaxY = in.getDouble();
+        // Six arrays of corner data follow
+        if (numVertices > in.remaining() / (6 * 8)) {
+            throw new IllegalArgumentException("Saved zone is cut off.");
+        }
+        this.localXs = ZoneSerializer.readDoubles(in, numVertices);
+        this.localYs = ZoneSerializer.readDoubles(in, numVertices);
+        if (convex != isConvex(localXs, localYs)) {
+            throw new IllegalArgumentException("Saved polygon's convex flag doesn't match its corners.");
+        }
+        this.edgeDxs = ZoneSerializer.readDoubles(in, numVertices);
+        this.edgeDys = ZoneSerializer.readDoubles(in, numVertices);
+        this.edgeInverseSlopes = ZoneSerializer.readDoubles(in, numVertices);
+        this.edgeInverseLengthsSq = ZoneSerializer.readDoubles(in, numVertices);
+
+        int partCount = in.getInt();
+        // Each part takes up far more than a byte, so a count past the bytes left can't be right
+        if (partCount < 0 || partCount > in.remaining() || (convex && partCount > 0)) {
+            throw new IllegalArgumentException("Saved polygon has an invalid number of convex parts.");
+        }
+        this.convexPartsSplit = true;
+        if (partCount > 0) {
+            this.convexParts = new PolygonZone[partCount];
+            for (int i = 0; i < partCount; i++) {
+                convexParts[i] = new PolygonZone(in);
+            }
+        }
+
+        this.cos = 1.0;
+        this.xs = new double[numVertices];
+        this.ys = new double[numVertices];
+        this.cornersDirty = true;
+        this.boundsDirty = true;
+    }
+
+    public PolygonZone(double width, double height) {
+        this(new Point(0, 0), width, height);
     }
 
     public PolygonZone(Point center, double width, double height) {
-        double halfWidth = width / 2.0;
-        double halfHeight = height / 2.0;
-        double centerX = center.getX();
-        double centerY = center.getY();
-
-        this.corners = new Point[] {
-                new Point(-halfWidth + centerX, -halfHeight + centerY),
-                new Point(halfWidth + centerX, -halfHeight + centerY),
-                new Point(halfWidth + centerX, halfHeight + centerY),
-                new Point(-halfWidth + centerX, halfHeight + centerY)
-        };
-        this.rotation = 0.0;
-        this.cachedCentroid = center;
-        this.centroidDirty = false;
+        this(center, width, height, 0.0);
     }
 
     public PolygonZone(Point center, double width, double height, double angle) {
         double halfWidth = width / 2.0;
         double halfHeight = height / 2.0;
-        double centerX = center.getX();
-        double centerY = center.getY();
-
-        Point[] baseCorners = new Point[] {
-                new Point(-halfWidth, -halfHeight),
-                new Point(halfWidth, -halfHeight),
-                new Point(halfWidth, halfHeight),
-                new Point(-halfWidth, halfHeight)
-        };
-
-        Point[] rotatedCorners = rotatePolygon(baseCorners, angle);
-        Point[] finalCorners = new Point[rotatedCorners.length];
-        for (int i = 0; i < rotatedCorners.length; i++) {
-            finalCorners[i] = new Point(
-                    rotatedCorners[i].getX() + centerX,
-                    rotatedCorners[i].getY() + centerY
-            );
-        }
-
-        this.corners = finalCorners;
-        this.rotation = angle;
+
+        this.localXs = new double[] { -halfWidth, halfWidth, halfWidth, -halfWidth };
+        this.localYs = new double[] { -halfHeight, -halfHeight, halfHeight, halfHeight };
+        this.poseX = center.getX();
+        this.poseY = center.getY();
+        this.convex = isConvex(localXs, localYs);
+        initializeShape(angle);
         this.cachedCentroid = center;
-        this.centroidDirty = false;
     }
 
     public PolygonZone(Point point1, Point point2, double thickness) {
@@ -86,37 +215,276 @@ public class PolygonZone implements Zone {
         double px = -dy * (thickness / 2) / length;
         double py = dx * (thickness / 2) / length;
 
-        this.corners = new Point[] {
-                new Point(point1.getX() + px, point1.getY() + py),
-                new Point(point1.getX() - px, point1.getY() - py),
-                new Point(point2.getX() - px, point2.getY() - py),
-                new Point(point2.getX() + px, point2.getY() + py)
-        };
-        this.rotation = 0.0;
-        this.centroidDirty = true;
+        this.poseX = (point1.getX() + point2.getX()) / 2.0;
+        this.poseY = (point1.getY() + point2.getY()) / 2.0;
+
+        double halfDx = dx / 2.0;
+        double halfDy = dy / 2.0;
+        this.localXs = new double[] { -halfDx + px, -halfDx - px, halfDx - px, halfDx + px };
+        this.localYs = new double[] { -halfDy + py, -halfDy - py, halfDy - py, halfDy + py };
+        this.convex = isConvex(localXs, localYs);
+        initializeShape(0.0);
     }
 
-    private void recalculateCentroid() {
-        if (!centroidDirty) return;
+    /**
+     * Precomputes everything that depends only on the local shape and sets the initial rotation.
+     */
+    private void initializeShape(double angle) {
+        int numVertices = localXs.length;
 
-        double sumX = 0.0;
-        double sumY = 0.0;
-        for (Point corner : corners) {
-            sumX += corner.getX();
-            sumY += corner.getY();
+        edgeDxs = new double[numVertices];
+        edgeDys = new double[numVertices];
+        edgeInverseSlopes = new double[numVertices];
+        edgeInverseLengthsSq = new double[numVertices];
+
+        localMinX = Double.MAX_VALUE;
+        localMinY = Double.MAX_VALUE;
+        localMaxX = -Double.MAX_VALUE;
+        localMaxY = -Double.MAX_VALUE;
+        double doubleArea = 0.0;
+
+        for (int i = 0; i < numVertices; i++) {
+            int next = (i + 1 == numVertices) ? 0 : i + 1;
+            double dx = localXs[next] - localXs[i];
+            double dy = localYs[next] - localYs[i];
+            double lengthSq = dx * dx + dy * dy;
+
+            edgeDxs[i] = dx;
+            edgeDys[i] = dy;
+            // Horizontal edges never cross the ray, so their slope is never used
+            edgeInverseSlopes[i] = (dy == 0.0) ? 0.0 : dx / dy;
+            // Zero length edges clamp every projection to their start corner
+            edgeInverseLengthsSq[i] = (lengthSq == 0.0) ? 0.0 : 1.0 / lengthSq;
+
+            localMinX = Math.min(localMinX, localXs[i]);
+            localMaxX = Math.max(localMaxX, localXs[i]);
+            localMinY = Math.min(localMinY, localYs[i]);
+            localMaxY = Math.max(localMaxY, localYs[i]);
+            doubleArea += localXs[i] * localYs[next] - localXs[next] * localYs[i];
+        }
+        // Rotating never flips the winding, so it only needs to be found once
+        counterClockwise = doubleArea > 0;
+
+        xs = new double[numVertices];
+        ys = new double[numVertices];
+
+        rotation = angle;
+        cos = Math.cos(angle);
+        sin = Math.sin(angle);
+        cornersDirty = true;
+        boundsDirty = true;
+    }
+
+    private void recalculateCorners() {
+        if (!cornersDirty) return;
+
+        for (int i = 0; i < localXs.length; i++) {
+            xs[i] = localXs[i] * cos - localYs[i] * sin + poseX;
+            ys[i] = localXs[i] * sin + localYs[i] * cos + poseY;
+        }
+        cornersDirty = false;
+    }
+
+    private void recalculateBounds() {
+        if (!boundsDirty) return;
+
+        recalculateCorners();
+        minX = Double.MAX_VALUE;
+        minY = Double.MAX_VALUE;
+        maxX = -Double.MAX_VALUE;
+        maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < xs.length; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
         }
-        cachedCentroid = new Point(sumX / corners.length, sumY / corners.length);
-        centroidDirty = false;
+        boundsDirty = false;
     }
 
     @Override
     public Point getPosition() {
-        recalculateCentroid();
+        if (cachedCentroid == null) {
+            cachedCentroid = new Point(poseX, poseY);
+        }
         return cachedCentroid;
     }
 
+    /**
+     * Gets the axis-aligned bounding box of the polygon.
+     * The box is cached until the polygon is moved or rotated.
+     *
+     * @return The bounding box
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        if (cachedBounds == null) {
+            recalculateBounds();
+            cachedBounds = new BoundingBox(minX, minY, maxX, maxY);
+        }
+        return cachedBounds;
+    }
+
+    /**
+     * Builds the corners of the polygon as points.
+     * The points are created on every call, so prefer {@link #getCornerCount()},
+     * {@link #getCornerX(int)} and {@link #getCornerY(int)} in hot loops.
+     *
+     * @return A new array containing the corners of the polygon
+     */
     public Point[] getCorners() {
-        return corners.clone();
+        recalculateCorners();
+        Point[] corners = new Point[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            corners[i] = new Point(xs[i], ys[i]);
+        }
+        return corners;
+    }
+
+    /**
+     * Gets the number of corners in the polygon.
+     *
+     * @return The number of corners
+     */
+    public int getCornerCount() {
+        return localXs.length;
+    }
+
+    /**
+     * Gets the X coordinate of a corner without allocating a point.
+     *
+     * @param index The index of the corner
+     * @return The X coordinate of the corner
+     */
+    public double getCornerX(int index) {
+        recalculateCorners();
+        return xs[index];
+    }
+
+    /**
+     * Gets the Y coordinate of a corner without allocating a point.
+     *
+     * @param index The index of the corner
+     * @return The Y coordinate of the corner
+     */
+    public double getCornerY(int index) {
+        recalculateCorners();
+        return ys[index];
+    }
+
+    /**
+     * Checks if the polygon is convex. This is detected once on construction,
+     * since moving and rotating the polygon can't change it.
+     * Convex polygons use faster algorithms for zone-to-zone queries.
+     *
+     * @return True if the polygon is convex
+     */
+    public boolean isConvex() {
+        return convex;
+    }
+
+    /**
+     * Gets the convex parts of the polygon, placed at its current pose.
+     * A convex polygon is its own only part.
+     *
+     * @return The convex parts, or null if the polygon crosses itself and can't be split
+     */
+    PolygonZone[] getConvexParts() {
+        if (convex) {
+            return new PolygonZone[] { this };
+        }
+        splitIntoConvexParts();
+        if (convexParts == null) {
+            return null;
+        }
+
+        if (convexPartsVersion != version) {
+            for (PolygonZone part : convexParts) {
+                part.setPose(poseX, poseY, rotation);
+            }
+            convexPartsVersion = version;
+        }
+        return convexParts;
+    }
+
+    /**
+     * Splits a concave polygon into convex parts the first time they are needed. Only the zone-to-zone queries use them,
+     * so polygons that are only checked against points never pay for the split.
+     */
+    private void splitIntoConvexParts() {
+        if (convexPartsSplit) return;
+        convexPartsSplit = true;
+
+        List<double[][]> parts = ConvexDecomposition.decompose(localXs, localYs);
+        if (parts != null) {
+            convexParts = new PolygonZone[parts.size()];
+            for (int i = 0; i < parts.size(); i++) {
+                convexParts[i] = new PolygonZone(parts.get(i)[0], parts.get(i)[1]);
+            }
+            convexPartsVersion = -1;
+        }
+    }
+
+    /**
+     * Builds the Minkowski sum of this polygon and another, which covers every point reached by adding a point of one
+     * to a point of the other. Summing an obstacle with the robot's footprint, placed around the origin and turned half
+     * a turn, covers every robot position where the footprint touches the obstacle, so the footprint check becomes a
+     * point check. Two convex polygons are merged edge by edge in O(n + m), and concave ones part by part.
+     * The result is built at the current poses and doesn't follow either polygon.
+     *
+     * @param other The polygon to add to this one
+     * @return The summed polygon, or a complex zone of summed parts if either polygon is concave
+     * @throws IllegalArgumentException If either polygon crosses itself
+     */
+    public Zone minkowskiSum(PolygonZone other) {
+        PolygonZone[] parts = getConvexParts();
+        PolygonZone[] otherParts = other.getConvexParts();
+        if (parts == null || otherParts == null) {
+            throw new IllegalArgumentException("Polygons that cross themselves can't be summed.");
+        }
+
+        if (parts.length == 1 && otherParts.length == 1) {
+            return sumConvexPolygons(parts[0], otherParts[0]);
+        }
+
+        List<Zone> sums = new ArrayList<>(parts.length * otherParts.length);
+        for (PolygonZone part : parts) {
+            for (PolygonZone otherPart : otherParts) {
+                sums.add(sumConvexPolygons(part, otherPart));
+            }
+        }
+        return new CompositeZone(sums.toArray(new Zone[0]));
+    }
+
+    /**
+     * Gets the distance from the polygon's center to its farthest corner.
+     * No point of the polygon moves faster than this times its angular speed when it rotates.
+     */
+    double getBoundingRadius() {
+        double maxSq = 0.0;
+        for (int i = 0; i < localXs.length; i++) {
+            maxSq = Math.max(maxSq, localXs[i] * localXs[i] + localYs[i] * localYs[i]);
+        }
+        return Math.sqrt(maxSq);
+    }
+
+    /**
+     * Turns on remembering the nearest edge between point distance queries, for a point that moves a little
+     * between queries, like the robot's position from one loop to the next.
+     * <p>
+     * No edge's distance can change by more than the point moved, so while the remembered edge is still closer
+     * than every other edge could have become, the distance comes from that one edge instead of all of them.
+     * Queries write to the polygon when this is on, so a polygon queried from several threads should leave it off.
+     *
+     * @param enabled True to remember the nearest edge
+     */
+    public void setDistanceCaching(boolean enabled) {
+        distanceCaching = enabled;
+        nearestEdge = -1;
+    }
+
+    public boolean isDistanceCaching() {
+        return distanceCaching;
     }
 
     public double getRotation() {
@@ -135,52 +503,105 @@ public class PolygonZone implements Zone {
      */
     @Override
     public boolean contains(Point point) {
-        // Early exit: check if exactly on boundary
-        double distSqToBoundary = distanceToBoundarySq(point);
-        final double BOUNDARY_EPSILON_SQ = 1e-18; // 1e-9 squared
+        return contains(point.getX(), point.getY());
+    }
 
-        if (distSqToBoundary <= BOUNDARY_EPSILON_SQ) {
-            return true;
+    /**
+     * Determines if a point is contained within this polygon zone without allocating a {@link Point}.
+     *
+     * @param pointX The X coordinate of the point
+     * @param pointY The Y coordinate of the point
+     * @return True if the point is inside or on the boundary of the polygon
+     */
+    @Override
+    public boolean contains(double pointX, double pointY) {
+        double dx = pointX - poseX;
+        double dy = pointY - poseY;
+        return containsLocal(dx * cos + dy * sin, dy * cos - dx * sin);
+    }
+
+    /**
+     * Checks many points at once, writing whether each one is contained in the polygon.
+     * Nothing is allocated.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives true for every point inside or on the boundary of the polygon
+     */
+    @Override
+    public void containsAll(double[] xs, double[] ys, boolean[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        for (int i = 0; i < xs.length; i++) {
+            double dx = xs[i] - poseX;
+            double dy = ys[i] - poseY;
+            out[i] = containsLocal(dx * cos + dy * sin, dy * cos - dx * sin);
         }
+    }
 
-        // Ray casting algorithm
-        int crossings = 0;
-        int numVertices = corners.length;
+    /**
+     * Containment check for a point already transformed into the local frame.
+     */
+    private boolean containsLocal(double localX, double localY) {
+        // Broad phase: anything outside the bounding box can't be inside the polygon
+        if (isOutsideLocalBounds(localX, localY)) {
+            return false;
+        }
 
-        for (int i = 0; i < numVertices; i++) {
-            Point currentVertex = corners[i];
-            Point nextVertex = corners[(i + 1) % numVertices];
+        return rayCastInside(localX, localY) || localDistanceToBoundarySq(localX, localY) <= BOUNDARY_EPSILON_SQ;
+    }
 
-            double currY = currentVertex.getY();
-            double nextY = nextVertex.getY();
-            double pointY = point.getY();
+    private boolean isOutsideLocalBounds(double localX, double localY) {
+        return localX < localMinX - BOUNDARY_EPSILON || localX > localMaxX + BOUNDARY_EPSILON ||
+                localY < localMinY - BOUNDARY_EPSILON || localY > localMaxY + BOUNDARY_EPSILON;
+    }
 
-            if (((currY > pointY) != (nextY > pointY))) {
-                double currX = currentVertex.getX();
-                double nextX = nextVertex.getX();
-                double pointX = point.getX();
+    /**
+     * Ray casting algorithm in the local frame. Ambiguous exactly on the boundary, which callers treat as inside.
+     */
+    private boolean rayCastInside(double localX, double localY) {
+        boolean inside = false;
+        int numVertices = localXs.length;
 
-                if (pointX < (nextX - currX) * (pointY - currY) / (nextY - currY) + currX) {
-                    crossings++;
-                }
+        for (int i = 0, prev = numVertices - 1; i < numVertices; prev = i++) {
+            double currY = localYs[prev];
+            double nextY = localYs[i];
+
+            if ((currY > localY) != (nextY > localY) &&
+                    localX < edgeInverseSlopes[prev] * (localY - currY) + localXs[prev]) {
+                inside = !inside;
             }
         }
 
-        return (crossings % 2 == 1);
+        return inside;
     }
 
     @Override
     public boolean isInside(Zone zone) {
+        if (!getBoundingBox().intersects(zone.getBoundingBox())) {
+            return false;
+        }
+        if (zone instanceof PolygonZone && this.convex && ((PolygonZone) zone).convex) {
+            return !hasSeparatingAxis(this, (PolygonZone) zone);
+        }
         return this.distanceTo(zone) == 0.0;
     }
 
     @Override
     public boolean isFullyInside(Zone zone) {
-        for (Point corner : this.corners) {
-            if (!zone.contains(corner)) {
+        if (!zone.getBoundingBox().contains(getBoundingBox(), 1e-9)) {
+            return false;
+        }
+        recalculateCorners();
+        for (int i = 0; i < xs.length; i++) {
+            if (!zone.contains(xs[i], ys[i])) {
                 return false;
             }
         }
+
+        // A concave polygon can have every corner of this one inside it while an edge cuts across its notch
+        if (zone instanceof PolygonZone && !((PolygonZone) zone).convex) {
+            return !boundariesCross(this, (PolygonZone) zone);
+        }
         return true;
     }
 
@@ -193,25 +614,57 @@ public class PolygonZone implements Zone {
      */
     @Override
     public double distanceTo(Point point) {
-        if (this.contains(point)) {
-            return 0.0;
-        }
-
-        double minDistanceSq = Double.MAX_VALUE;
-        int numVertices = corners.length;
+        return distanceTo(point.getX(), point.getY());
+    }
 
-        for (int i = 0; i < numVertices; i++) {
-            Point currentVertex = corners[i];
-            Point nextVertex = corners[(i + 1) % numVertices];
+    /**
+     * Calculates the shortest distance from the polygon's perimeter to a point without allocating a {@link Point}.
+     * If the point is inside the zone, the distance is 0.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the zone
+     */
+    @Override
+    public double distanceTo(double x, double y) {
+        double dx = x - poseX;
+        double dy = y - poseY;
+        if (distanceCaching) {
+            double distance = coherentDistanceToBoundary(dx * cos + dy * sin, dy * cos - dx * sin);
+            return distance <= BOUNDARY_EPSILON ? 0.0 : distance;
+        }
+        return distanceToLocal(dx * cos + dy * sin, dy * cos - dx * sin);
+    }
 
-            double distSq = distancePointToSegmentSq(point, currentVertex, nextVertex);
-            minDistanceSq = Math.min(minDistanceSq, distSq);
+    /**
+     * Measures many points at once, writing the distance from each one to the polygon.
+     * Nothing is allocated.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives the distance for every point, 0 for points inside the polygon
+     */
+    @Override
+    public void distanceToAll(double[] xs, double[] ys, double[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        for (int i = 0; i < xs.length; i++) {
+            double dx = xs[i] - poseX;
+            double dy = ys[i] - poseY;
+            out[i] = distanceToLocal(dx * cos + dy * sin, dy * cos - dx * sin);
+        }
+    }
 
-            // Early exit if we find a very close point
-            if (minDistanceSq < 1e-12) break;
+    /**
+     * Distance calculation for a point already transformed into the local frame.
+     */
+    private double distanceToLocal(double localX, double localY) {
+        if (!isOutsideLocalBounds(localX, localY) && rayCastInside(localX, localY)) {
+            return 0.0;
         }
 
-        return Math.sqrt(minDistanceSq);
+        // One pass over the edges gives both the boundary check and the distance
+        double distanceSq = localDistanceToBoundarySq(localX, localY);
+        return distanceSq <= BOUNDARY_EPSILON_SQ ? 0.0 : Math.sqrt(distanceSq);
     }
 
     /**
@@ -225,63 +678,60 @@ public class PolygonZone implements Zone {
     public double distanceTo(Zone zone) {
         if (zone instanceof CircleZone) {
             CircleZone other = (CircleZone) zone;
-            double polygonDistanceToCenter = this.distanceTo(other.getPosition());
+            Point center = other.getPosition();
+            double polygonDistanceToCenter = this.distanceTo(center.getX(), center.getY());
             return Math.max(0, polygonDistanceToCenter - other.getRadius());
         }
 
         if (zone instanceof PolygonZone) {
             PolygonZone other = (PolygonZone) zone;
 
-            // Quick bounding box check first
-            if (!boundingBoxesOverlap(this, other)) {
+            if (this.convex && other.convex) {
+                return distanceBetweenConvexPolygons(this, other);
+            }
+
+            PolygonZone[] parts = this.getConvexParts();
+            PolygonZone[] otherParts = other.getConvexParts();
+            if (parts != null && otherParts != null) {
+                return distanceBetweenConvexParts(parts, otherParts);
+            }
+
+            // Self-intersecting polygons can't be split, so fall back to checking every edge pair
+            if (!getBoundingBox().intersects(other.getBoundingBox())) {
                 // Non-overlapping bounding boxes - use simpler distance calc
                 return distanceBetweenPolygonsSimple(this, other);
             }
 
             // Full collision check for potentially overlapping boxes
-            int n1 = this.corners.length;
-            int n2 = other.corners.length;
+            this.recalculateCorners();
+            other.recalculateCorners();
+            int n1 = this.xs.length;
+            int n2 = other.xs.length;
 
             // Check edge intersections (only needed if bounding boxes overlap)
             for (int i = 0; i < n1; i++) {
-                Point a1 = this.corners[i];
-                Point a2 = this.corners[(i + 1) % n1];
+                int i2 = (i + 1) % n1;
                 for (int j = 0; j < n2; j++) {
-                    Point b1 = other.corners[j];
-                    Point b2 = other.corners[(j + 1) % n2];
-                    if (segmentsIntersect(a1, a2, b1, b2)) {
+                    int j2 = (j + 1) % n2;
+                    if (Geometry.segmentsIntersect(
+                            this.xs[i], this.ys[i], this.xs[i2], this.ys[i2],
+                            other.xs[j], other.ys[j], other.xs[j2], other.ys[j2])) {
                         return 0.0;
                     }
                 }
             }
 
             // Check containment
-            for (Point vertex : this.corners) {
-                if (other.contains(vertex)) {
-                    return 0.0;
-                }
-            }
-            for (Point vertex : other.corners) {
-                if (this.contains(vertex)) {
-                    return 0.0;
-                }
-            }
-
-            // Calculate minimum distance
-            double minDistance = Double.MAX_VALUE;
-            for (Point vertex : this.corners) {
-                double dist = other.distanceTo(vertex);
-                minDistance = Math.min(minDistance, dist);
-            }
-            for (Point vertex : other.corners) {
-                double dist = this.distanceTo(vertex);
-                minDistance = Math.min(minDistance, dist);
+            if (other.contains(this.xs[0], this.ys[0]) || this.contains(other.xs[0], other.ys[0])) {
+                return 0.0;
             }
 
-            return minDistance;
+            // No edges cross and neither polygon holds the other, so the closest pair is a vertex and an edge
+            return distanceBetweenPolygonsSimple(this, other);
         }
 
-        if (zone instanceof CompositeZone) {
+        if (zone instanceof CompositeZone || zone instanceof BooleanZone || zone instanceof InflatedZone ||
+                zone instanceof ZoneSnapshot) {
             return zone.distanceTo(this);
         }
 
@@ -290,25 +740,251 @@ public class PolygonZone implements Zone {
 
     /**
      * Calculates the shortest distance from the given point to the zone's boundary.
+     * Negative if the point is inside, positive if outside.
      * 
      * @param point The point to measure to
      * @return The minimum distance to the boundary
      */
     @Override
     public double distanceToBoundary(Point point) {
-        return Math.sqrt(distanceToBoundarySq(point));
+        return distanceToBoundary(point.getX(), point.getY());
+    }
+
+    /**
+     * Calculates the shortest distance from the given coordinates to the zone's boundary.
+     * Negative if the point is inside, positive if outside.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The minimum distance to the boundary
+     */
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        double dx = x - poseX;
+        double dy = y - poseY;
+        double localX = dx * cos + dy * sin;
+        double localY = dy * cos - dx * sin;
+        if (distanceCaching) {
+            return coherentDistanceToBoundary(localX, localY);
+        }
+
+        double distance = Math.sqrt(localDistanceToBoundarySq(localX, localY));
+        boolean inside = !isOutsideLocalBounds(localX, localY) && rayCastInside(localX, localY);
+        return inside ? -distance : distance;
+    }
+
+    /**
+     * Finds the point on the polygon's outline nearest to a point, and the edge it lies on. The point is turned
+     * into the local frame and checked against every edge, and the result is turned back, so nothing is allocated.
+     * The normal points from the nearest point to the query point, flipped if the query point is inside,
+     * or straight out of the edge if the query point is on the outline.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param out Receives the nearest boundary point
+     */
+    @Override
+    public void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        double dx = x - poseX;
+        double dy = y - poseY;
+        double localX = dx * cos + dy * sin;
+        double localY = dy * cos - dx * sin;
+
+        double bestSq = Double.MAX_VALUE;
+        double bestT = 0.0;
+        int best = 0;
+        for (int i = 0; i < localXs.length; i++) {
+            double offsetX = localX - localXs[i];
+            double offsetY = localY - localYs[i];
+            double t = Math.max(0.0, Math.min(1.0, (offsetX * edgeDxs[i] + offsetY * edgeDys[i]) * edgeInverseLengthsSq[i]));
+            offsetX -= t * edgeDxs[i];
+            offsetY -= t * edgeDys[i];
+
+            double distanceSq = offsetX * offsetX + offsetY * offsetY;
+            if (distanceSq < bestSq) {
+                bestSq = distanceSq;
+                bestT = t;
+                best = i;
+            }
+        }
+
+        double nearestX = localXs[best] + bestT * edgeDxs[best];
+        double nearestY = localYs[best] + bestT * edgeDys[best];
+        double distance = Math.sqrt(bestSq);
+        boolean inside = !isOutsideLocalBounds(localX, localY) && rayCastInside(localX, localY);
+
+        double normalX;
+        double normalY;
+        if (distance > BOUNDARY_EPSILON) {
+            double sign = inside ? -1.0 : 1.0;
+            normalX = sign * (localX - nearestX) / distance;
+            normalY = sign * (localY - nearestY) / distance;
+        } else {
+            // The outside of an edge is to its right when the corners run counter-clockwise
+            double edgeLength = Math.hypot(edgeDxs[best], edgeDys[best]);
+            double sign = counterClockwise ? 1.0 : -1.0;
+            normalX = sign * edgeDys[best] / edgeLength;
+            normalY = -sign * edgeDxs[best] / edgeLength;
+        }
+
+        out.set(nearestX * cos - nearestY * sin + poseX, nearestX * sin + nearestY * cos + poseY,
+                normalX * cos - normalY * sin, normalX * sin + normalY * cos,
+                inside ? -distance : distance, best, this);
     }
 
-    private double distanceToBoundarySq(Point point) {
+    /**
+     * Finds how far a ray travels before it reaches the polygon. The ray is turned into the local frame
+     * and checked against every edge, so nothing is allocated.
+     *
+     * @param originX The X coordinate where the ray starts
+     * @param originY The Y coordinate where the ray starts
+     * @param heading The direction of the ray in radians
+     * @param maxDistance How far to follow the ray
+     * @return The distance to the polygon, 0 if the ray starts inside it, or -1 if it isn't reached within the maximum distance
+     */
+    @Override
+    public double raycast(double originX, double originY, double heading, double maxDistance) {
+        double dx = originX - poseX;
+        double dy = originY - poseY;
+        double localX = dx * cos + dy * sin;
+        double localY = dy * cos - dx * sin;
+        if (containsLocal(localX, localY)) {
+            return 0.0;
+        }
+
+        double directionX = Math.cos(heading - rotation);
+        double directionY = Math.sin(heading - rotation);
+        double nearest = Double.POSITIVE_INFINITY;
+        boolean hit = false;
+        for (int i = 0; i < localXs.length; i++) {
+            // An edge parallel to the ray can only be reached at a corner, which the neighbouring edges share
+            double denominator = directionX * edgeDys[i] - directionY * edgeDxs[i];
+            if (Math.abs(denominator) <= 1e-12) continue;
+
+            double toStartX = localXs[i] - localX;
+            double toStartY = localYs[i] - localY;
+            double distance = (toStartX * edgeDys[i] - toStartY * edgeDxs[i]) / denominator;
+            double alongEdge = (toStartX * directionY - toStartY * directionX) / denominator;
+            if (distance >= 0 && alongEdge >= -1e-12 && alongEdge <= 1 + 1e-12) {
+                nearest = Math.min(nearest, distance);
+                hit = true;
+            }
+        }
+
+        return hit && nearest <= maxDistance ? nearest : -1;
+    }
+
+    /**
+     * Checks if a segment touches the polygon anywhere along its length.
+     * The segment touches it if it starts inside or crosses an edge.
+     *
+     * @param startX The X coordinate of one end of the segment
+     * @param startY The Y coordinate of one end of the segment
+     * @param endX The X coordinate of the other end of the segment
+     * @param endY The Y coordinate of the other end of the segment
+     * @return True if any point of the segment is inside or on the boundary of the polygon
+     */
+    @Override
+    public boolean intersectsSegment(double startX, double startY, double endX, double endY) {
+        recalculateBounds();
+        if (Math.max(startX, endX) < minX || Math.min(startX, endX) > maxX ||
+                Math.max(startY, endY) < minY || Math.min(startY, endY) > maxY) {
+            return false;
+        }
+        if (contains(startX, startY)) {
+            return true;
+        }
+
+        recalculateCorners();
+        int numVertices = xs.length;
+        for (int i = 0; i < numVertices; i++) {
+            int next = (i + 1 == numVertices) ? 0 : i + 1;
+            if (Geometry.segmentsIntersect(startX, startY, endX, endY, xs[i], ys[i], xs[next], ys[next])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Signed distance to the boundary for a point in the local frame, using the remembered nearest edge when it
+     * is still certain to be the nearest. The local shape never changes, so moving the polygon doesn't invalidate it.
+     */
+    private double coherentDistanceToBoundary(double localX, double localY) {
+        if (nearestEdge >= 0) {
+            int i = nearestEdge;
+            double dx = localX - localXs[i];
+            double dy = localY - localYs[i];
+            double t = (dx * edgeDxs[i] + dy * edgeDys[i]) * edgeInverseLengthsSq[i];
+            double distance = Math.hypot(dx - t * edgeDxs[i], dy - t * edgeDys[i]);
+
+            // Every other edge is at least the runner-up distance minus how far the point moved.
+            // A closest point at a corner ties with the next edge, which rounding can hide, so it always rescans.
+            double moved = Math.hypot(localX - nearestQueryX, localY - nearestQueryY);
+            if (t > 0.0 && t < 1.0 && distance < runnerUpDistance - moved) {
+                // The closest point is inside this edge, so the side of the edge gives the sign
+                double side = edgeDxs[i] * dy - edgeDys[i] * dx;
+                return (side > 0) == counterClockwise ? -distance : distance;
+            }
+        }
+
+        double bestSq = Double.MAX_VALUE;
+        double runnerUpSq = Double.MAX_VALUE;
+        int best = -1;
+        for (int i = 0; i < localXs.length; i++) {
+            double dx = localX - localXs[i];
+            double dy = localY - localYs[i];
+            double t = Math.max(0.0, Math.min(1.0, (dx * edgeDxs[i] + dy * edgeDys[i]) * edgeInverseLengthsSq[i]));
+            dx -= t * edgeDxs[i];
+            dy -= t * edgeDys[i];
+
+            double distanceSq = dx * dx + dy * dy;
+            if (distanceSq < bestSq) {
+                runnerUpSq = bestSq;
+                bestSq = distanceSq;
+                best = i;
+            } else if (distanceSq < runnerUpSq) {
+                runnerUpSq = distanceSq;
+            }
+        }
+
+        nearestEdge = best;
+        nearestQueryX = localX;
+        nearestQueryY = localY;
+        runnerUpDistance = Math.sqrt(runnerUpSq);
+
+        double distance = Math.sqrt(bestSq);
+        boolean inside = !isOutsideLocalBounds(localX, localY) && rayCastInside(localX, localY);
+        return inside ? -distance : distance;
+    }
+
+    private double distanceToBoundarySq(double x, double y) {
+        double dx = x - poseX;
+        double dy = y - poseY;
+        return localDistanceToBoundarySq(dx * cos + dy * sin, dy * cos - dx * sin);
+    }
+
+    private double localDistanceToBoundarySq(double localX, double localY) {
         double minDistanceSq = Double.MAX_VALUE;
-        int numVertices = corners.length;
+        int numVertices = localXs.length;
 
         for (int i = 0; i < numVertices; i++) {
-            Point currentVertex = corners[i];
-            Point nextVertex = corners[(i + 1) % numVertices];
+            double dx = localX - localXs[i];
+            double dy = localY - localYs[i];
+            double edgeDx = edgeDxs[i];
+            double edgeDy = edgeDys[i];
+
+            // Project onto the edge and clamp to its ends
+            double t = (dx * edgeDx + dy * edgeDy) * edgeInverseLengthsSq[i];
+            if (t < 0.0) {
+                t = 0.0;
+            } else if (t > 1.0) {
+                t = 1.0;
+            }
 
-            double distSq = distancePointToSegmentSq(point, currentVertex, nextVertex);
-            minDistanceSq = Math.min(minDistanceSq, distSq);
+            dx -= t * edgeDx;
+            dy -= t * edgeDy;
+            minDistanceSq = Math.min(minDistanceSq, dx * dx + dy * dy);
         }
 
         return minDistanceSq;
@@ -322,36 +998,18 @@ public class PolygonZone implements Zone {
      */
     @Override
     public void moveBy(double deltaX, double deltaY) {
-        // Modify in-place instead of creating new Point objects
-        for (int i = 0; i < corners.length; i++) {
-            Point old = corners[i];
-            corners[i] = new Point(old.getX() + deltaX, old.getY() + deltaY);
-        }
-        centroidDirty = true;
+        translatePose(poseX + deltaX, poseY + deltaY);
     }
 
     /**
-     * Moves the polygon to a new position by translating all corners.
+     * Moves the polygon to a new position.
      *
      * @param posX The new X position for the polygon's center
      * @param posY The new Y position for the polygon's center
      */
     @Override
     public void setPosition(double posX, double posY) {
-        recalculateCentroid();
-        Point center = cachedCentroid;
-
-        double deltaX = posX - center.getX();
-        double deltaY = posY - center.getY();
-
-        for (int i = 0; i < corners.length; i++) {
-            Point old = corners[i];
-            corners[i] = new Point(old.getX() + deltaX, old.getY() + deltaY);
-        }
-
-        // Update cached centroid directly
-        cachedCentroid = new Point(posX, posY);
-        centroidDirty = false;
+        translatePose(posX, posY);
     }
 
     /**
@@ -362,26 +1020,7 @@ public class PolygonZone implements Zone {
     public void rotateBy(double angleRadians) {
         if (Math.abs(angleRadians) < 1e-12) return;
 
-        recalculateCentroid();
-        Point center = cachedCentroid;
-        double centerX = center.getX();
-        double centerY = center.getY();
-
-        // Precompute trig values once
-        double cos = Math.cos(angleRadians);
-        double sin = Math.sin(angleRadians);
-
-        for (int i = 0; i < corners.length; i++) {
-            double x = corners[i].getX() - centerX;
-            double y = corners[i].getY() - centerY;
-
-            double newX = x * cos - y * sin;
-            double newY = x * sin + y * cos;
-
-            corners[i] = new Point(newX + centerX, newY + centerY);
-        }
-
-        rotation += angleRadians;
+        rotatePose(rotation + angleRadians);
     }
 
     /**
@@ -413,158 +1052,406 @@ public class PolygonZone implements Zone {
     }
 
     /**
-     * Quick bounding box overlap check.
+     * Places the polygon at a new position and rotation in one step, such as a robot footprint following the robot's pose.
+     * This only updates the pose, so it costs the same no matter how many corners the polygon has.
+     *
+     * @param posX The new X position for the polygon's center
+     * @param posY The new Y position for the polygon's center
+     * @param angleRadians The new rotation angle in radians
      */
-    private static boolean boundingBoxesOverlap(PolygonZone p1, PolygonZone p2) {
-        double minX1 = Double.MAX_VALUE, maxX1 = -Double.MAX_VALUE;
-        double minY1 = Double.MAX_VALUE, maxY1 = -Double.MAX_VALUE;
-        double minX2 = Double.MAX_VALUE, maxX2 = -Double.MAX_VALUE;
-        double minY2 = Double.MAX_VALUE, maxY2 = -Double.MAX_VALUE;
-
-        for (Point p : p1.corners) {
-            minX1 = Math.min(minX1, p.getX());
-            maxX1 = Math.max(maxX1, p.getX());
-            minY1 = Math.min(minY1, p.getY());
-            maxY1 = Math.max(maxY1, p.getY());
+    public void setPose(double posX, double posY, double angleRadians) {
+        translatePose(posX, posY);
+        if (angleRadians != rotation) {
+            rotatePose(angleRadians);
         }
+    }
 
-        for (Point p : p2.corners) {
-            minX2 = Math.min(minX2, p.getX());
-            maxX2 = Math.max(maxX2, p.getX());
-            minY2 = Math.min(minY2, p.getY());
-            maxY2 = Math.max(maxY2, p.getY());
-        }
+    private void translatePose(double posX, double posY) {
+        double deltaX = posX - poseX;
+        double deltaY = posY - poseY;
+        poseX = posX;
+        poseY = posY;
+
+        // Translation doesn't change the shape of the box, so shift it instead of rescanning the corners
+        minX += deltaX;
+        maxX += deltaX;
+        minY += deltaY;
+        maxY += deltaY;
+        cachedBounds = null;
+        cachedCentroid = null;
+        cornersDirty = true;
+        version++;
+        if (watchers != null) watchers.notifyMoved();
+    }
+
+    private void rotatePose(double angleRadians) {
+        rotation = angleRadians;
+        cos = Math.cos(angleRadians);
+        sin = Math.sin(angleRadians);
 
-        return !(maxX1 < minX2 || maxX2 < minX1 || maxY1 < minY2 || maxY2 < minY1);
+        boundsDirty = true;
+        cachedBounds = null;
+        cornersDirty = true;
+        version++;
+        if (watchers != null) watchers.notifyMoved();
     }
 
     /**
-     * Simple distance calc for non-overlapping polygons.
+     * Gets a counter that changes every time the polygon is moved or rotated.
+     * Useful for detecting that cached data about the polygon is out of date.
+     *
+     * @return The current version of the polygon
      */
-    private static double distanceBetweenPolygonsSimple(PolygonZone p1, PolygonZone p2) {
-        double minDistance = Double.MAX_VALUE;
-        for (Point v : p1.corners) {
-            minDistance = Math.min(minDistance, p2.distanceTo(v));
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Tells a complex zone built from this polygon whenever the polygon moves.
+     */
+    void addWatcher(CompositeZone composite) {
+        if (watchers == null) watchers = new MoveWatchers();
+        watchers.add(composite);
+    }
+
+    /**
+     * Writes the polygon's shape and pose for {@link ZoneSerializer}.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        writeShape(out);
+        out.writeDouble(poseX);
+        out.writeDouble(poseY);
+        out.writeDouble(rotation);
+    }
+
+    /**
+     * Reads a polygon written by {@link #writeTo(DataOutputStream)}.
+     */
+    static PolygonZone readFrom(ByteBuffer in) {
+        PolygonZone polygon = new PolygonZone(in);
+        polygon.setPose(in.getDouble(), in.getDouble(), in.getDouble());
+        return polygon;
+    }
+
+    /**
+     * Writes the local shape along with everything computed from it, so loading it again skips that work.
+     * Each array is written in one run so it can be read back in bulk.
+     */
+    private void writeShape(DataOutputStream out) throws IOException {
+        int numVertices = localXs.length;
+        out.writeInt(numVertices);
+        out.writeBoolean(convex);
+        out.writeBoolean(counterClockwise);
+        out.writeDouble(localMinX);
+        out.writeDouble(localMinY);
+        out.writeDouble(localMaxX);
+        out.writeDouble(localMaxY);
+        for (double[] values : new double[][] { localXs, localYs, edgeDxs, edgeDys, edgeInverseSlopes, edgeInverseLengthsSq }) {
+            for (double value : values) {
+                out.writeDouble(value);
+            }
         }
-        for (Point v : p2.corners) {
-            minDistance = Math.min(minDistance, p1.distanceTo(v));
+
+        if (!convex) {
+            splitIntoConvexParts();
+        }
+        if (convexParts == null) {
+            out.writeInt(0);
+        } else {
+            out.writeInt(convexParts.length);
+            for (PolygonZone part : convexParts) {
+                part.writeShape(out);
+            }
         }
-        return minDistance;
     }
 
     /**
-     * Returns squared distance to avoid sqrt in hot loops.
+     * Minkowski sum of two convex polygons. Starting from both lowest corners, the edges of both polygons are
+     * walked in order of their direction, and each step adds the next edge of whichever turns less.
      */
-    private static double distancePointToSegmentSq(Point p, Point a, Point b) {
-        double segmentLengthSq = a.distanceTo(b);
-        segmentLengthSq = segmentLengthSq * segmentLengthSq;
+    private static PolygonZone sumConvexPolygons(PolygonZone p1, PolygonZone p2) {
+        double[][] corners1 = BooleanZone.counterClockwiseCorners(p1);
+        double[][] corners2 = BooleanZone.counterClockwiseCorners(p2);
+        double[] xs1 = corners1[0], ys1 = corners1[1];
+        double[] xs2 = corners2[0], ys2 = corners2[1];
+        int n1 = xs1.length;
+        int n2 = xs2.length;
+        int start1 = lowestCorner(xs1, ys1);
+        int start2 = lowestCorner(xs2, ys2);
+
+        List<Point> points = new ArrayList<>(n1 + n2);
+        int steps1 = 0;
+        int steps2 = 0;
+        while (steps1 < n1 || steps2 < n2) {
+            int i = (start1 + steps1) % n1;
+            int j = (start2 + steps2) % n2;
+            points.add(new Point(xs1[i] + xs2[j], ys1[i] + ys2[j]));
+
+            int nextI = (i + 1) % n1;
+            int nextJ = (j + 1) % n2;
+            double cross = (xs1[nextI] - xs1[i]) * (ys2[nextJ] - ys2[j]) - (ys1[nextI] - ys1[i]) * (xs2[nextJ] - xs2[j]);
+
+            if (steps2 == n2 || (steps1 < n1 && cross > 0)) {
+                steps1++;
+            } else if (steps1 == n1 || cross < 0) {
+                steps2++;
+            } else {
+                // Parallel edges are added together as one
+                steps1++;
+                steps2++;
+            }
+        }
 
-        if (segmentLengthSq == 0.0) {
-            double dx = p.getX() - a.getX();
-            double dy = p.getY() - a.getY();
-            return dx * dx + dy * dy;
+        return new PolygonZone(points.toArray(new Point[0]));
+    }
+
+    private static int lowestCorner(double[] xs, double[] ys) {
+        int lowest = 0;
+        for (int i = 1; i < xs.length; i++) {
+            if (ys[i] < ys[lowest] || (ys[i] == ys[lowest] && xs[i] < xs[lowest])) {
+                lowest = i;
+            }
         }
+        return lowest;
+    }
+
+    /**
+     * Separating Axis Theorem test for two convex polygons.
+     * Touching polygons are not considered separated.
+     */
+    private static boolean hasSeparatingAxis(PolygonZone p1, PolygonZone p2) {
+        p1.recalculateCorners();
+        p2.recalculateCorners();
+        return hasSeparatingEdgeNormal(p1, p2) || hasSeparatingEdgeNormal(p2, p1);
+    }
 
-        double t = ((p.getX() - a.getX()) * (b.getX() - a.getX()) +
-                (p.getY() - a.getY()) * (b.getY() - a.getY())) / segmentLengthSq;
+    /**
+     * Checks whether any edge normal of the first polygon separates the two polygons.
+     */
+    private static boolean hasSeparatingEdgeNormal(PolygonZone edges, PolygonZone other) {
+        final double SEPARATION_EPSILON_SQ = 1e-18; // 1e-9 squared
+        int n = edges.xs.length;
+
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            double axisX = edges.ys[i] - edges.ys[next];
+            double axisY = edges.xs[next] - edges.xs[i];
+            double axisLengthSq = axisX * axisX + axisY * axisY;
+            if (axisLengthSq == 0.0) continue;
+
+            double min1 = Double.MAX_VALUE, max1 = -Double.MAX_VALUE;
+            for (int j = 0; j < n; j++) {
+                double projection = edges.xs[j] * axisX + edges.ys[j] * axisY;
+                min1 = Math.min(min1, projection);
+                max1 = Math.max(max1, projection);
+            }
 
-        Point closest;
-        if (t < 0.0) {
-            closest = a;
-        } else if (t > 1.0) {
-            closest = b;
-        } else {
-            closest = new Point(
-                    a.getX() + t * (b.getX() - a.getX()),
-                    a.getY() + t * (b.getY() - a.getY())
-            );
+            double min2 = Double.MAX_VALUE, max2 = -Double.MAX_VALUE;
+            for (int j = 0; j < other.xs.length; j++) {
+                double projection = other.xs[j] * axisX + other.ys[j] * axisY;
+                min2 = Math.min(min2, projection);
+                max2 = Math.max(max2, projection);
+            }
+
+            // The projections use an unnormalized axis, so compare the gap against the scaled epsilon
+            double gap = Math.max(min2 - max1, min1 - max2);
+            if (gap > 0 && gap * gap > SEPARATION_EPSILON_SQ * axisLengthSq) {
+                return true;
+            }
         }
 
-        double dx = p.getX() - closest.getX();
-        double dy = p.getY() - closest.getY();
-        return dx * dx + dy * dy;
+        return false;
     }
 
-    private static Point[] rotatePolygon(Point[] points, double angleRad) {
-        double cos = Math.cos(angleRad);
-        double sin = Math.sin(angleRad);
-        Point[] newPoints = new Point[points.length];
+    /**
+     * Exact distance between two convex polygons in O(n + m), zero if they overlap or touch.
+     * <p>
+     * The distance between two shapes is the distance from the origin to their Minkowski difference.
+     * For convex polygons that difference is the convex polygon whose edges are the edges of the first
+     * polygon and the reversed edges of the second, merged in order of angle like a pair of rotating calipers.
+     * Each merged edge is checked against the origin as it is produced, so the difference is never stored.
+     */
+    private static double distanceBetweenConvexPolygons(PolygonZone p1, PolygonZone p2) {
+        p1.recalculateCorners();
+        p2.recalculateCorners();
+        int n1 = p1.xs.length;
+        int n2 = p2.xs.length;
+
+        // Walk both polygons counter-clockwise, whichever way their corners were given
+        int step1 = p1.counterClockwise ? 1 : n1 - 1;
+        int step2 = p2.counterClockwise ? 1 : n2 - 1;
+
+        // Start both walks at the same caliper angle: the lowest corner of the first polygon,
+        // and the highest corner of the second, which is the lowest corner once negated
+        int i = 0;
+        for (int k = 1; k < n1; k++) {
+            if (p1.ys[k] < p1.ys[i] || (p1.ys[k] == p1.ys[i] && p1.xs[k] < p1.xs[i])) i = k;
+        }
+        int j = 0;
+        for (int k = 1; k < n2; k++) {
+            if (p2.ys[k] > p2.ys[j] || (p2.ys[k] == p2.ys[j] && p2.xs[k] > p2.xs[j])) j = k;
+        }
 
-        for (int i = 0; i < points.length; i++) {
-            Point point = points[i];
-            double x = point.getX();
-            double y = point.getY();
+        double startX = p1.xs[i] - p2.xs[j];
+        double startY = p1.ys[i] - p2.ys[j];
+        double minDistanceSq = Double.MAX_VALUE;
+        boolean originInside = true;
+
+        int edges1 = 0;
+        int edges2 = 0;
+        while (edges1 < n1 || edges2 < n2) {
+            int next1 = (i + step1) % n1;
+            int next2 = (j + step2) % n2;
+            double edge1X = p1.xs[next1] - p1.xs[i];
+            double edge1Y = p1.ys[next1] - p1.ys[i];
+            double edge2X = p2.xs[j] - p2.xs[next2];
+            double edge2Y = p2.ys[j] - p2.ys[next2];
+
+            // Take whichever edge comes first by angle, or both if they are parallel
+            double cross = edge1X * edge2Y - edge1Y * edge2X;
+            boolean take1 = edges1 < n1 && (cross >= 0 || edges2 == n2);
+            boolean take2 = edges2 < n2 && (cross <= 0 || edges1 == n1);
+
+            double edgeX = 0.0;
+            double edgeY = 0.0;
+            if (take1) {
+                edgeX += edge1X;
+                edgeY += edge1Y;
+                i = next1;
+                edges1++;
+            }
+            if (take2) {
+                edgeX += edge2X;
+                edgeY += edge2Y;
+                j = next2;
+                edges2++;
+            }
+
+            double lengthSq = edgeX * edgeX + edgeY * edgeY;
+            if (lengthSq == 0.0) continue;
 
-            double newX = x * cos - y * sin;
-            double newY = x * sin + y * cos;
+            // The difference winds counter-clockwise, so the origin is inside only if it is left of every edge
+            if (startX * edgeY - startY * edgeX < 0) {
+                originInside = false;
+            }
+
+            double t = Math.max(0.0, Math.min(1.0, -(startX * edgeX + startY * edgeY) / lengthSq));
+            double closestX = startX + t * edgeX;
+            double closestY = startY + t * edgeY;
+            minDistanceSq = Math.min(minDistanceSq, closestX * closestX + closestY * closestY);
 
-            newPoints[i] = new Point(newX, newY);
+            startX += edgeX;
+            startY += edgeY;
         }
 
-        return newPoints;
+        if (originInside || minDistanceSq <= BOUNDARY_EPSILON_SQ) {
+            return 0.0;
+        }
+        return Math.sqrt(minDistanceSq);
     }
 
     /**
-     * Calculates the shortest distance from a point to a line segment defined by two points.
-     *
-     * @param p The point
-     * @param a The start of the line segment
-     * @param b The end of the line segment
-     * @return The shortest distance
-     */
-    private static double distancePointToSegment(Point p, Point a, Point b) {
-        double segmentLengthSq = a.distanceTo(b) * a.distanceTo(b);
-
-        if (segmentLengthSq == 0.0) return p.distanceTo(a);
-
-        // Vector AB: (bx - ax, by - ay)
-        // Vector AP: (px - ax, py - ay)
-        double t = ((p.getX() - a.getX()) * (b.getX() - a.getX()) + (p.getY() - a.getY()) * (b.getY() - a.getY())) / segmentLengthSq;
-
-        // Find the closest point on the line *segment*
-        Point closest;
-        if (t < 0.0) {
-            closest = a;
-        } else if (t > 1.0) {
-            closest = b;
-        } else {
-            // Point is between a and b. Project P onto line AB.
-            closest = new Point(
-                    a.getX() + t * (b.getX() - a.getX()),
-                    a.getY() + t * (b.getY() - a.getY())
-            );
+     * Distance between two shapes made of convex parts, which is the smallest distance between any two parts.
+     */
+    private static double distanceBetweenConvexParts(PolygonZone[] parts1, PolygonZone[] parts2) {
+        double minDistance = Double.MAX_VALUE;
+        for (PolygonZone part1 : parts1) {
+            BoundingBox bounds1 = part1.getBoundingBox();
+            for (PolygonZone part2 : parts2) {
+                // Parts can't be closer than their bounding boxes
+                BoundingBox bounds2 = part2.getBoundingBox();
+                double gapX = Math.max(0.0, Math.max(bounds1.getMinX() - bounds2.getMaxX(), bounds2.getMinX() - bounds1.getMaxX()));
+                double gapY = Math.max(0.0, Math.max(bounds1.getMinY() - bounds2.getMaxY(), bounds2.getMinY() - bounds1.getMaxY()));
+                if (gapX * gapX + gapY * gapY >= minDistance * minDistance) continue;
+
+                minDistance = Math.min(minDistance, distanceBetweenConvexPolygons(part1, part2));
+                if (minDistance == 0.0) return 0.0;
+            }
         }
-
-        return p.distanceTo(closest);
+        return minDistance;
     }
 
-    private static boolean segmentsIntersect(Point p1, Point q1, Point p2, Point q2) {
-        int o1 = orientation(p1, q1, p2);
-        int o2 = orientation(p1, q1, q2);
-        int o3 = orientation(p2, q2, p1);
-        int o4 = orientation(p2, q2, q1);
+    /**
+     * Simple distance calc for non-overlapping polygons.
+     */
+    private static double distanceBetweenPolygonsSimple(PolygonZone p1, PolygonZone p2) {
+        p1.recalculateCorners();
+        p2.recalculateCorners();
+        double minDistanceSq = Double.MAX_VALUE;
+        for (int i = 0; i < p1.xs.length; i++) {
+            minDistanceSq = Math.min(minDistanceSq, p2.distanceToBoundarySq(p1.xs[i], p1.ys[i]));
+        }
+        for (int i = 0; i < p2.xs.length; i++) {
+            minDistanceSq = Math.min(minDistanceSq, p1.distanceToBoundarySq(p2.xs[i], p2.ys[i]));
+        }
+        return Math.sqrt(minDistanceSq);
+    }
 
-        if (o1 != o2 && o3 != o4) return true;
+    /**
+     * Checks that every turn along the polygon goes the same way and that the corners wind around only once.
+     * Degenerate polygons whose corners are all collinear are not treated as convex.
+     */
+    private static boolean isConvex(double[] xs, double[] ys) {
+        int n = xs.length;
+        int turnSign = 0;
+        double totalTurn = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            int next = (i + 1) % n;
+            int afterNext = (i + 2) % n;
+
+            double edge1X = xs[next] - xs[i];
+            double edge1Y = ys[next] - ys[i];
+            double edge2X = xs[afterNext] - xs[next];
+            double edge2Y = ys[afterNext] - ys[next];
+
+            double cross = edge1X * edge2Y - edge1Y * edge2X;
+            if (Math.abs(cross) > 1e-12) {
+                int sign = cross > 0 ? 1 : -1;
+                if (turnSign == 0) {
+                    turnSign = sign;
+                } else if (sign != turnSign) {
+                    return false;
+                }
+            }
 
-        if (o1 == 0 && onSegment(p1, p2, q1)) return true;
-        if (o2 == 0 && onSegment(p1, q2, q1)) return true;
-        if (o3 == 0 && onSegment(p2, p1, q2)) return true;
-        if (o4 == 0 && onSegment(p2, q1, q2)) return true;
+            totalTurn += Math.atan2(cross, edge1X * edge2X + edge1Y * edge2Y);
+        }
 
-        return false;
+        // Self-intersecting shapes like pentagrams turn the same way at every corner but wind around more than once
+        return turnSign != 0 && Math.abs(Math.abs(totalTurn) - 2 * Math.PI) < 1e-6;
     }
 
-    private static int orientation(Point a, Point b, Point c) {
-        double val = (b.getY() - a.getY()) * (c.getX() - b.getX()) -
-                (b.getX() - a.getX()) * (c.getY() - b.getY());
-        if (Math.abs(val) <= 1e-12) return 0;
-        return (val > 0) ? 1 : 2;
-    }
+    /**
+     * Checks if an edge of the inner polygon crosses an edge of the outer polygon, or a corner of the outer polygon
+     * pokes into the inner one. Touching edges and corners don't count.
+     */
+    private static boolean boundariesCross(PolygonZone inner, PolygonZone outer) {
+        inner.recalculateCorners();
+        outer.recalculateCorners();
+        int n1 = inner.xs.length;
+        int n2 = outer.xs.length;
+
+        for (int i = 0; i < n1; i++) {
+            int i2 = (i + 1) % n1;
+            for (int j = 0; j < n2; j++) {
+                int j2 = (j + 1) % n2;
+                int o1 = Geometry.orientation(inner.xs[i], inner.ys[i], inner.xs[i2], inner.ys[i2], outer.xs[j], outer.ys[j]);
+                int o2 = Geometry.orientation(inner.xs[i], inner.ys[i], inner.xs[i2], inner.ys[i2], outer.xs[j2], outer.ys[j2]);
+                int o3 = Geometry.orientation(outer.xs[j], outer.ys[j], outer.xs[j2], outer.ys[j2], inner.xs[i], inner.ys[i]);
+                int o4 = Geometry.orientation(outer.xs[j], outer.ys[j], outer.xs[j2], outer.ys[j2], inner.xs[i2], inner.ys[i2]);
+                if (o1 != 0 && o2 != 0 && o3 != 0 && o4 != 0 && o1 != o2 && o3 != o4) {
+                    return true;
+                }
+            }
+        }
 
-    private static boolean onSegment(Point a, Point b, Point c) {
-        return b.getX() <= Math.max(a.getX(), c.getX()) + 1e-12 &&
-                b.getX() + 1e-12 >= Math.min(a.getX(), c.getX()) &&
-                b.getY() <= Math.max(a.getY(), c.getY()) + 1e-12 &&
-                b.getY() + 1e-12 >= Math.min(a.getY(), c.getY());
+        for (int j = 0; j < n2; j++) {
+            if (inner.distanceToBoundary(outer.xs[j], outer.ys[j]) < -BOUNDARY_EPSILON) {
+                return true;
+            }
+        }
+        return false;
     }
 }
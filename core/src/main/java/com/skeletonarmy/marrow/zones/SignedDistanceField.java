@@ -0,0 +1,156 @@
+package com.skeletonarmy.marrow.zones;
+
+/**
+ * A precomputed grid of signed distances to one or more zones.
+ * <p>
+ * Sampling the zones once into a grid turns every later distance and gradient lookup into a constant-time
+ * bilinear interpolation, no matter how many zones or edges went into it. This suits planners that query
+ * the distance to the nearest obstacle thousands of times.
+ * <p>
+ * Distances follow {@link Zone#distanceToBoundary(double, double)}: negative inside a zone and positive
+ * outside. With several zones, each sample is the smallest distance to any of them. The grid is a snapshot,
+ * so it must be rebuilt if the zones move. Lookups outside the grid area are clamped to its edge.
+ */
+public class SignedDistanceField {
+    private final double minX;
+    private final double minY;
+    private final double resolution;
+    private final int columns;
+    private final int rows;
+
+    private final double[] distances;
+    private final double[] gradientXs;
+    private final double[] gradientYs;
+
+    /**
+     * Samples the zones over an area.
+     *
+     * @param area The area to cover, usually the field
+     * @param resolution The spacing between samples. Smaller is more accurate but takes longer to build
+     * @param zones The zones to sample
+     */
+    public SignedDistanceField(BoundingBox area, double resolution, Zone... zones) {
+        if (resolution <= 0) throw new IllegalArgumentException("Resolution must be positive.");
+        if (zones.length == 0) throw new IllegalArgumentException("SignedDistanceField must contain at least one zone.");
+
+        this.minX = area.getMinX();
+        this.minY = area.getMinY();
+        this.resolution = resolution;
+        this.columns = (int) Math.ceil((area.getMaxX() - area.getMinX()) / resolution) + 1;
+        this.rows = (int) Math.ceil((area.getMaxY() - area.getMinY()) / resolution) + 1;
+
+        distances = new double[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            double y = minY + row * resolution;
+            for (int column = 0; column < columns; column++) {
+                double x = minX + column * resolution;
+
+                double distance = Double.MAX_VALUE;
+                for (Zone zone : zones) {
+                    distance = Math.min(distance, zone.distanceToBoundary(x, y));
+                }
+                distances[row * columns + column] = distance;
+            }
+        }
+
+        // Central differences, falling back to one-sided differences along the edges of the grid
+        gradientXs = new double[columns * rows];
+        gradientYs = new double[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int left = Math.max(0, column - 1);
+                int right = Math.min(columns - 1, column + 1);
+                int below = Math.max(0, row - 1);
+                int above = Math.min(rows - 1, row + 1);
+
+                int index = row * columns + column;
+                gradientXs[index] = right == left ? 0.0 :
+                        (distances[row * columns + right] - distances[row * columns + left]) / ((right - left) * resolution);
+                gradientYs[index] = above == below ? 0.0 :
+                        (distances[above * columns + column] - distances[below * columns + column]) / ((above - below) * resolution);
+            }
+        }
+    }
+
+    /**
+     * Looks up the signed distance to the nearest zone boundary.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The interpolated distance, negative inside a zone
+     */
+    public double distanceAt(double x, double y) {
+        return interpolate(distances, x, y);
+    }
+
+    /**
+     * Looks up the signed distance to the nearest zone boundary.
+     *
+     * @param point The point to look up
+     * @return The interpolated distance, negative inside a zone
+     */
+    public double distanceAt(Point point) {
+        return distanceAt(point.getX(), point.getY());
+    }
+
+    /**
+     * Looks up the X component of the distance gradient, which points away from the nearest boundary.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The interpolated X component of the gradient
+     */
+    public double gradientXAt(double x, double y) {
+        return interpolate(gradientXs, x, y);
+    }
+
+    /**
+     * Looks up the Y component of the distance gradient, which points away from the nearest boundary.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The interpolated Y component of the gradient
+     */
+    public double gradientYAt(double x, double y) {
+        return interpolate(gradientYs, x, y);
+    }
+
+    /**
+     * Gets the spacing between samples.
+     *
+     * @return The resolution of the grid
+     */
+    public double getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Gets the area covered by the samples. It can be slightly larger than the requested area,
+     * since it is rounded up to a whole number of cells.
+     *
+     * @return The covered area
+     */
+    public BoundingBox getBounds() {
+        return new BoundingBox(minX, minY, minX + (columns - 1) * resolution, minY + (rows - 1) * resolution);
+    }
+
+    private double interpolate(double[] grid, double x, double y) {
+        double gridX = clamp((x - minX) / resolution, columns - 1);
+        double gridY = clamp((y - minY) / resolution, rows - 1);
+
+        int column = Math.min((int) gridX, Math.max(0, columns - 2));
+        int row = Math.min((int) gridY, Math.max(0, rows - 2));
+        int nextColumn = Math.min(column + 1, columns - 1);
+        int nextRow = Math.min(row + 1, rows - 1);
+        double fx = gridX - column;
+        double fy = gridY - row;
+
+        double bottom = grid[row * columns + column] * (1 - fx) + grid[row * columns + nextColumn] * fx;
+        double top = grid[nextRow * columns + column] * (1 - fx) + grid[nextRow * columns + nextColumn] * fx;
+        return bottom * (1 - fy) + top * fy;
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0.0, Math.min(max, value));
+    }
+}
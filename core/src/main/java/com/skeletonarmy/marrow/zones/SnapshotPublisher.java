@@ -0,0 +1,49 @@
+package com.skeletonarmy.marrow.zones;
+
+/**
+ * Hands the latest snapshot of a zone from the thread that moves it to any number of reader threads.
+ * <p>
+ * The owning thread, usually the OpMode loop, calls {@link #publish()} after moving the zone. Readers such as
+ * a vision or planning thread call {@link #get()} and query the snapshot they get back, without locks.
+ * The snapshot is handed over through a volatile field, so a reader always sees a fully built snapshot.
+ */
+public class SnapshotPublisher {
+    private final Zone zone;
+    private volatile ZoneSnapshot latest;
+
+    /**
+     * Creates a publisher and publishes the zone's current state. Call this on the thread that moves the zone.
+     *
+     * @param zone The zone to publish
+     */
+    public SnapshotPublisher(Zone zone) {
+        if (zone == null) throw new IllegalArgumentException("A zone must be provided.");
+
+        this.zone = zone;
+        this.latest = ZoneSnapshot.of(zone);
+    }
+
+    /**
+     * Publishes the zone's current state. A new snapshot is only taken if the zone moved since the last one,
+     * so this is cheap to call every loop. Only call this on the thread that moves the zone.
+     *
+     * @return The latest snapshot
+     */
+    public ZoneSnapshot publish() {
+        ZoneSnapshot snapshot = latest;
+        if (zone.getVersion() != snapshot.getVersion()) {
+            snapshot = ZoneSnapshot.of(zone);
+            latest = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the latest published snapshot. Safe to call from any thread.
+     *
+     * @return The latest snapshot
+     */
+    public ZoneSnapshot get() {
+        return latest;
+    }
+}
@@ -0,0 +1,192 @@
+package com.skeletonarmy.marrow.zones;
+
+/**
+ * Continuous collision queries for a zone moving along a straight segment.
+ * <p>
+ * A regular {@link Zone#distanceTo(Zone)} check only looks at one snapshot, so a fast robot can pass
+ * through a thin obstacle between two loops. These queries instead find the first moment along the whole
+ * motion at which the moving zone touches the obstacle.
+ * <p>
+ * They use conservative advancement: the current distance to the obstacle bounds how far the zone can
+ * travel before it could possibly touch it, so the zone is stepped forward by that much until the gap
+ * closes or the motion ends. The steps are taken by a private copy of the moving zone, so the zone passed in
+ * never moves and caches built from it stay valid.
+ */
+public final class SweptCollision {
+    /**
+     * The gap at which the zones are considered to be touching.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+
+    // Advancement steps before a motion creeping along the obstacle switches to fixed steps, and how many of those it gets
+    private static final int MAX_ITERATIONS = 1000;
+
+    /**
+     * The gap between the moving zone and the obstacle at a fraction of the motion.
+     */
+    private interface Gap {
+        double at(double t);
+    }
+
+    private SweptCollision() {}
+
+    /**
+     * Finds when a polygon moving from one pose to another first touches an obstacle.
+     * The position and rotation are interpolated linearly over the motion.
+     *
+     * @param moving The moving polygon, such as the robot footprint
+     * @param startX The X position of the polygon's center at the start of the motion
+     * @param startY The Y position of the polygon's center at the start of the motion
+     * @param startHeading The rotation of the polygon at the start of the motion, in radians
+     * @param endX The X position of the polygon's center at the end of the motion
+     * @param endY The Y position of the polygon's center at the end of the motion
+     * @param endHeading The rotation of the polygon at the end of the motion, in radians
+     * @param obstacle The static zone to check against
+     * @return The fraction of the motion, from 0 to 1, at which the zones first touch, or -1 if they never do
+     * @throws IllegalArgumentException If the distance between the two zones can't be measured
+     */
+    public static double timeOfImpact(PolygonZone moving,
+                                      double startX, double startY, double startHeading,
+                                      double endX, double endY, double endHeading,
+                                      Zone obstacle) {
+        return timeOfImpact(moving, startX, startY, startHeading, endX, endY, endHeading, obstacle, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Finds when a polygon moving from one pose to another first touches an obstacle.
+     * The position and rotation are interpolated linearly over the motion.
+     *
+     * @param moving The moving polygon, such as the robot footprint
+     * @param startX The X position of the polygon's center at the start of the motion
+     * @param startY The Y position of the polygon's center at the start of the motion
+     * @param startHeading The rotation of the polygon at the start of the motion, in radians
+     * @param endX The X position of the polygon's center at the end of the motion
+     * @param endY The Y position of the polygon's center at the end of the motion
+     * @param endHeading The rotation of the polygon at the end of the motion, in radians
+     * @param obstacle The static zone to check against
+     * @param tolerance The gap at which the zones are considered to be touching
+     * @return The fraction of the motion, from 0 to 1, at which the zones first touch, or -1 if they never do
+     * @throws IllegalArgumentException If the distance between the two zones can't be measured
+     */
+    public static double timeOfImpact(PolygonZone moving,
+                                      double startX, double startY, double startHeading,
+                                      double endX, double endY, double endHeading,
+                                      Zone obstacle, double tolerance) {
+        PolygonZone probe = new PolygonZone(moving);
+
+        double deltaX = endX - startX;
+        double deltaY = endY - startY;
+        double deltaHeading = endHeading - startHeading;
+
+        // No point of the polygon moves farther over the whole motion than this
+        double maxTravel = Math.hypot(deltaX, deltaY) + Math.abs(deltaHeading) * probe.getBoundingRadius();
+
+        return advance(t -> {
+            probe.setPose(startX + deltaX * t, startY + deltaY * t, startHeading + deltaHeading * t);
+            return probe.distanceTo(obstacle);
+        }, maxTravel, tolerance);
+    }
+
+    /**
+     * Finds when a circle moving from one position to another first touches an obstacle.
+     *
+     * @param moving The moving circle
+     * @param startX The X position of the circle's center at the start of the motion
+     * @param startY The Y position of the circle's center at the start of the motion
+     * @param endX The X position of the circle's center at the end of the motion
+     * @param endY The Y position of the circle's center at the end of the motion
+     * @param obstacle The static zone to check against
+     * @return The fraction of the motion, from 0 to 1, at which the zones first touch, or -1 if they never do
+     * @throws IllegalArgumentException If the distance between the two zones can't be measured
+     */
+    public static double timeOfImpact(CircleZone moving,
+                                      double startX, double startY,
+                                      double endX, double endY,
+                                      Zone obstacle) {
+        return timeOfImpact(moving, startX, startY, endX, endY, obstacle, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Finds when a circle moving from one position to another first touches an obstacle.
+     *
+     * @param moving The moving circle
+     * @param startX The X position of the circle's center at the start of the motion
+     * @param startY The Y position of the circle's center at the start of the motion
+     * @param endX The X position of the circle's center at the end of the motion
+     * @param endY The Y position of the circle's center at the end of the motion
+     * @param obstacle The static zone to check against
+     * @param tolerance The gap at which the zones are considered to be touching
+     * @return The fraction of the motion, from 0 to 1, at which the zones first touch, or -1 if they never do
+     * @throws IllegalArgumentException If the distance between the two zones can't be measured
+     */
+    public static double timeOfImpact(CircleZone moving,
+                                      double startX, double startY,
+                                      double endX, double endY,
+                                      Zone obstacle, double tolerance) {
+        CircleZone probe = new CircleZone(moving.getPosition(), moving.getRadius());
+
+        double deltaX = endX - startX;
+        double deltaY = endY - startY;
+        double maxTravel = Math.hypot(deltaX, deltaY);
+
+        return advance(t -> {
+            probe.setPosition(startX + deltaX * t, startY + deltaY * t);
+            return probe.distanceTo(obstacle);
+        }, maxTravel, tolerance);
+    }
+
+    /**
+     * Steps along the motion until the gap closes. Once the step budget is used up, a motion that keeps
+     * grazing the obstacle is stepped by a fixed fraction of what is left of it, so it either reaches the
+     * end or closes the gap instead of being cut short.
+     */
+    private static double advance(Gap gap, double maxTravel, double tolerance) {
+        double t = 0.0;
+        double previous = 0.0;
+        double minStep = 0.0;
+        boolean forced = false;
+        for (int i = 0; i < 2 * MAX_ITERATIONS; i++) {
+            double distance = gap.at(t);
+            if (Double.isNaN(distance)) {
+                throw new IllegalArgumentException("Can't measure the distance to this kind of obstacle.");
+            }
+            if (distance <= tolerance) {
+                // A fixed step may have gone past where the zones first touched
+                return forced ? findContact(gap, previous, t, tolerance, maxTravel) : t;
+            }
+            if (maxTravel == 0.0 || t >= 1.0) return -1;
+
+            if (i == MAX_ITERATIONS) {
+                minStep = (1.0 - t) / MAX_ITERATIONS;
+            }
+
+            previous = t;
+            double step = distance / maxTravel;
+            forced = step < minStep;
+            if (forced) {
+                t = Math.min(t + minStep, 1.0);
+            } else {
+                t += step;
+                if (t > 1.0) return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Narrows down when the zones first touch, given a fraction of the motion at which they are apart and
+     * one at which they touch.
+     */
+    private static double findContact(Gap gap, double apart, double touching, double tolerance, double maxTravel) {
+        double resolution = Math.max(tolerance / maxTravel, 1e-12);
+        while (touching - apart > resolution) {
+            double middle = (apart + touching) / 2;
+            if (gap.at(middle) <= tolerance) {
+                touching = middle;
+            } else {
+                apart = middle;
+            }
+        }
+        return touching;
+    }
+}
@@ -10,4 +10,187 @@ public interface Zone {
     double distanceToBoundary(Point point);
     void moveBy(double deltaX, double deltaY);
     void setPosition(double posX, double posY);
+
+    /**
+     * Gets a number that changes whenever the zone moves, so caches built from the zone know when to rebuild.
+     * By default every call returns a new number, so nothing built from the zone is ever reused.
+     * Zones should override it with a counter they bump when they move.
+     *
+     * @return The zone's current version
+     */
+    default long getVersion() {
+        return Geometry.nextUntrackedVersion();
+    }
+
+    /**
+     * Gets a box the zone fits in, used to skip zones that are too far away to matter.
+     * By default the box is unbounded, so no check is ever skipped. Zones should override it with their real extent.
+     *
+     * @return A box containing the whole zone
+     */
+    default BoundingBox getBoundingBox() {
+        return BoundingBox.UNBOUNDED;
+    }
+
+    /**
+     * Checks if a point is inside the zone without the caller building a {@link Point}.
+     * By default this wraps the coordinates in a point, so zones should override it to avoid the allocation.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return True if the point is inside or on the boundary of the zone
+     */
+    default boolean contains(double x, double y) {
+        return contains(new Point(x, y));
+    }
+
+    /**
+     * Measures the distance from a point to the zone without the caller building a {@link Point}.
+     * By default this wraps the coordinates in a point, so zones should override it to avoid the allocation.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The distance to the zone, 0 if the point is inside it
+     */
+    default double distanceTo(double x, double y) {
+        return distanceTo(new Point(x, y));
+    }
+
+    /**
+     * Measures the signed distance from a point to the zone's boundary without the caller building a {@link Point}.
+     * By default this wraps the coordinates in a point, so zones should override it to avoid the allocation.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return The distance to the boundary, negative if the point is inside
+     */
+    default double distanceToBoundary(double x, double y) {
+        return distanceToBoundary(new Point(x, y));
+    }
+
+    /**
+     * Checks many points at once, writing whether each one is contained in the zone.
+     * Nothing is allocated as long as the zone overrides {@link #contains(double, double)},
+     * so it can check whole trajectories every loop.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives true for every point inside or on the boundary of the zone
+     */
+    default void containsAll(double[] xs, double[] ys, boolean[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = contains(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Measures many points at once, writing the distance from each one to the zone.
+     * Nothing is allocated as long as the zone overrides {@link #distanceTo(double, double)},
+     * so it can check whole trajectories every loop.
+     *
+     * @param xs The X coordinates of the points
+     * @param ys The Y coordinates of the points
+     * @param out Receives the distance for every point, 0 for points inside the zone
+     */
+    default void distanceToAll(double[] xs, double[] ys, double[] out) {
+        Geometry.checkBatchLengths(xs, ys, out.length);
+        for (int i = 0; i < xs.length; i++) {
+            out[i] = distanceTo(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * Grows the zone outward, covering every point within a radius of it. Growing obstacles by the robot's radius
+     * lets a check of the robot's center point stand in for a check of its whole footprint.
+     * The grown zone follows this zone when it moves.
+     *
+     * @param radius How far to grow the zone
+     * @return The grown zone
+     */
+    default Zone inflate(double radius) {
+        return new InflatedZone(this, radius);
+    }
+
+    /**
+     * Finds how far a ray travels before it reaches the zone, such as a distance sensor's beam.
+     *
+     * @param origin Where the ray starts
+     * @param heading The direction of the ray in radians
+     * @param maxDistance How far to follow the ray
+     * @return The distance to the zone, 0 if the ray starts inside it, or -1 if it isn't reached within the maximum distance
+     */
+    default double raycast(Point origin, double heading, double maxDistance) {
+        return raycast(origin.getX(), origin.getY(), heading, maxDistance);
+    }
+
+    /**
+     * Finds how far a ray travels before it reaches the zone, such as a distance sensor's beam.
+     * Nothing is allocated as long as the zone overrides {@link #distanceTo(double, double)}.
+     *
+     * @param originX The X coordinate where the ray starts
+     * @param originY The Y coordinate where the ray starts
+     * @param heading The direction of the ray in radians
+     * @param maxDistance How far to follow the ray
+     * @return The distance to the zone, 0 if the ray starts inside it, or -1 if it isn't reached within the maximum distance
+     */
+    default double raycast(double originX, double originY, double heading, double maxDistance) {
+        return Geometry.traceRay(this, originX, originY, Math.cos(heading), Math.sin(heading), maxDistance);
+    }
+
+    /**
+     * Checks if a segment touches the zone anywhere along its length, such as one leg of a path.
+     *
+     * @param start One end of the segment
+     * @param end The other end of the segment
+     * @return True if any point of the segment is inside or on the boundary of the zone
+     */
+    default boolean intersectsSegment(Point start, Point end) {
+        return intersectsSegment(start.getX(), start.getY(), end.getX(), end.getY());
+    }
+
+    /**
+     * Checks if a segment touches the zone anywhere along its length, such as one leg of a path.
+     * Nothing is allocated as long as the zone overrides {@link #contains(double, double)}
+     * and {@link #distanceTo(double, double)}.
+     *
+     * @param startX The X coordinate of one end of the segment
+     * @param startY The Y coordinate of one end of the segment
+     * @param endX The X coordinate of the other end of the segment
+     * @param endY The Y coordinate of the other end of the segment
+     * @return True if any point of the segment is inside or on the boundary of the zone
+     */
+    default boolean intersectsSegment(double startX, double startY, double endX, double endY) {
+        double length = Math.hypot(endX - startX, endY - startY);
+        if (length == 0) {
+            return contains(startX, startY);
+        }
+        return Geometry.traceRay(this, startX, startY, (endX - startX) / length, (endY - startY) / length, length) >= 0;
+    }
+
+    /**
+     * Finds the point on the zone's boundary nearest to a point, with the outward normal there.
+     *
+     * @param point The point to measure from
+     * @param out Receives the nearest boundary point
+     */
+    default void nearestBoundaryPoint(Point point, NearestPoint out) {
+        nearestBoundaryPoint(point.getX(), point.getY(), out);
+    }
+
+    /**
+     * Finds the point on the zone's boundary nearest to a point, with the outward normal there.
+     * Nothing is allocated as long as the zone overrides {@link #distanceToBoundary(double, double)},
+     * so it can run every loop for wall-following or pushing away from a zone.
+     * <p>
+     * By default the normal is estimated from how {@link #distanceToBoundary(double, double)} changes around the point,
+     * and the nearest point is found by stepping that distance along it.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param out Receives the nearest boundary point
+     */
+    default void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        Geometry.estimateNearest(this, x, y, out);
+    }
 }
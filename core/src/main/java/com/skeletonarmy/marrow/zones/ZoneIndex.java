@@ -0,0 +1,274 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid that speeds up queries over many zones.
+ * Each zone is stored in every grid cell its bounding box touches, so a query only
+ * runs the exact zone checks for the zones sharing cells with it.
+ * <p>
+ * Zones outside the indexed area are clamped to the edge cells, so they are still found,
+ * just without the speedup.
+ * <p>
+ * The index does not watch zones by itself. After moving zones, call {@link #update(Zone)}
+ * for the zones that moved or {@link #refresh()} to re-check all of them.
+ */
+public class ZoneIndex {
+    private static class Entry {
+        final Zone zone;
+        // Where the entry is in the entries list, so it can be removed without searching
+        int index;
+        long version;
+        int minCellX, minCellY, maxCellX, maxCellY;
+        int queryStamp;
+
+        Entry(Zone zone) {
+            this.zone = zone;
+        }
+    }
+
+    private final double minX;
+    private final double minY;
+    private final double cellSize;
+    private final int cellsX;
+    private final int cellsY;
+    private final List<List<Entry>> cells;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Zone, Entry> entriesByZone = new IdentityHashMap<>();
+
+    private int queryStamp;
+
+    /**
+     * Creates an empty index covering the given area.
+     *
+     * @param area The area to divide into cells, usually the field
+     * @param cellSize The width and height of each cell
+     */
+    public ZoneIndex(BoundingBox area, double cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive.");
+
+        this.minX = area.getMinX();
+        this.minY = area.getMinY();
+        this.cellSize = cellSize;
+        this.cellsX = Math.max(1, (int) Math.ceil((area.getMaxX() - area.getMinX()) / cellSize));
+        this.cellsY = Math.max(1, (int) Math.ceil((area.getMaxY() - area.getMinY()) / cellSize));
+
+        this.cells = new ArrayList<>(cellsX * cellsY);
+        for (int i = 0; i < cellsX * cellsY; i++) {
+            cells.add(new ArrayList<Entry>());
+        }
+    }
+
+    /**
+     * Adds zones to the index.
+     *
+     * @param zones The zones to add
+     */
+    public void add(Zone... zones) {
+        for (Zone zone : zones) {
+            if (entriesByZone.containsKey(zone)) continue;
+
+            Entry entry = new Entry(zone);
+            entry.index = entries.size();
+            entries.add(entry);
+            entriesByZone.put(zone, entry);
+            insert(entry);
+        }
+    }
+
+    /**
+     * Removes a zone from the index.
+     *
+     * @param zone The zone to remove
+     * @return True if the zone was in the index
+     */
+    public boolean remove(Zone zone) {
+        Entry entry = entriesByZone.remove(zone);
+        if (entry == null) return false;
+
+        erase(entry);
+
+        // Fill the gap with the last entry instead of shifting everything after it
+        Entry last = entries.remove(entries.size() - 1);
+        if (last != entry) {
+            last.index = entry.index;
+            entries.set(entry.index, last);
+        }
+        return true;
+    }
+
+    /**
+     * Re-files a zone after it has moved.
+     *
+     * @param zone The zone that moved
+     */
+    public void update(Zone zone) {
+        Entry entry = entriesByZone.get(zone);
+        if (entry == null) throw new IllegalArgumentException("Zone is not in the index.");
+
+        erase(entry);
+        insert(entry);
+    }
+
+    /**
+     * Re-files every zone whose version changed since it was last filed.
+     * This only compares version counters, so it is cheap to call once per loop.
+     */
+    public void refresh() {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.zone.getVersion() != entry.version) {
+                erase(entry);
+                insert(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of zones in the index.
+     *
+     * @return The number of zones
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Finds all zones that contain a point.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @return A new list of the zones containing the point
+     */
+    public List<Zone> zonesContaining(double x, double y) {
+        return zonesContaining(x, y, new ArrayList<Zone>());
+    }
+
+    /**
+     * Finds all zones that contain a point, adding them to an existing list.
+     * Reusing the same list every loop avoids allocating.
+     *
+     * @param x The X coordinate of the point
+     * @param y The Y coordinate of the point
+     * @param result The list to add the zones to
+     * @return The result list
+     */
+    public List<Zone> zonesContaining(double x, double y, List<Zone> result) {
+        List<Entry> cell = cells.get(cellIndex(cellX(x), cellY(y)));
+        for (int i = 0; i < cell.size(); i++) {
+            Zone zone = cell.get(i).zone;
+            if (zone.contains(x, y)) {
+                result.add(zone);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds all zones that contain a point.
+     *
+     * @param point The point to check
+     * @return A new list of the zones containing the point
+     */
+    public List<Zone> zonesContaining(Point point) {
+        return zonesContaining(point.getX(), point.getY());
+    }
+
+    /**
+     * Finds all indexed zones within a distance of another zone.
+     * The zone itself is skipped if it is in the index.
+     *
+     * @param zone The zone to measure from
+     * @param distance The maximum distance between the zones
+     * @return A new list of the zones within the distance
+     */
+    public List<Zone> zonesWithin(Zone zone, double distance) {
+        return zonesWithin(zone, distance, new ArrayList<Zone>());
+    }
+
+    /**
+     * Finds all indexed zones within a distance of another zone, adding them to an existing list.
+     * The zone itself is skipped if it is in the index.
+     *
+     * @param zone The zone to measure from
+     * @param distance The maximum distance between the zones
+     * @param result The list to add the zones to
+     * @return The result list
+     */
+    public List<Zone> zonesWithin(Zone zone, double distance, List<Zone> result) {
+        BoundingBox bounds = zone.getBoundingBox();
+        double queryMinX = bounds.getMinX() - distance;
+        double queryMinY = bounds.getMinY() - distance;
+        double queryMaxX = bounds.getMaxX() + distance;
+        double queryMaxY = bounds.getMaxY() + distance;
+
+        // Zones can span several cells, so mark each one as it is checked to avoid duplicates
+        int stamp = ++queryStamp;
+
+        for (int cy = cellY(queryMinY); cy <= cellY(queryMaxY); cy++) {
+            for (int cx = cellX(queryMinX); cx <= cellX(queryMaxX); cx++) {
+                List<Entry> cell = cells.get(cellIndex(cx, cy));
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.queryStamp == stamp) continue;
+                    entry.queryStamp = stamp;
+
+                    Zone other = entry.zone;
+                    if (other == zone) continue;
+
+                    BoundingBox otherBounds = other.getBoundingBox();
+                    if (otherBounds.getMaxX() < queryMinX || otherBounds.getMinX() > queryMaxX ||
+                            otherBounds.getMaxY() < queryMinY || otherBounds.getMinY() > queryMaxY) {
+                        continue;
+                    }
+
+                    if (zone.distanceTo(other) <= distance) {
+                        result.add(other);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void insert(Entry entry) {
+        BoundingBox bounds = entry.zone.getBoundingBox();
+        entry.version = entry.zone.getVersion();
+        entry.minCellX = cellX(bounds.getMinX());
+        entry.minCellY = cellY(bounds.getMinY());
+        entry.maxCellX = cellX(bounds.getMaxX());
+        entry.maxCellY = cellY(bounds.getMaxY());
+
+        for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+            for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+                cells.get(cellIndex(cx, cy)).add(entry);
+            }
+        }
+    }
+
+    private void erase(Entry entry) {
+        for (int cy = entry.minCellY; cy <= entry.maxCellY; cy++) {
+            for (int cx = entry.minCellX; cx <= entry.maxCellX; cx++) {
+                cells.get(cellIndex(cx, cy)).remove(entry);
+            }
+        }
+    }
+
+    private int cellX(double x) {
+        int cell = (int) Math.floor((x - minX) / cellSize);
+        return Math.max(0, Math.min(cellsX - 1, cell));
+    }
+
+    private int cellY(double y) {
+        int cell = (int) Math.floor((y - minY) / cellSize);
+        return Math.max(0, Math.min(cellsY - 1, cell));
+    }
+
+    private int cellIndex(int cellX, int cellY) {
+        return cellY * cellsX + cellX;
+    }
+}
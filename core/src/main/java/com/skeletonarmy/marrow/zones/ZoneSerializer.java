@@ -0,0 +1,233 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves zones to a compact binary file and loads them back, so field presets can be built once
+ * and shared between OpModes instead of being rebuilt at every init.
+ * <p>
+ * Polygons are saved with their edge data, bounds and convex parts, so loading one skips all the work
+ * its constructor would do. Files are loaded through a memory-mapped buffer and each array is read in bulk.
+ * Complex and combined zones keep their structure, and a zone used in several places is loaded as one zone.
+ * Snapshots are saved as the zone they hold.
+ */
+public final class ZoneSerializer {
+    private static final int MAGIC = 0x4D5A4F4E; // "MZON"
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte CIRCLE = 1;
+    private static final byte POLYGON = 2;
+    private static final byte COMPOSITE = 3;
+    private static final byte INTERSECTION = 4;
+    private static final byte DIFFERENCE = 5;
+    private static final byte INFLATED = 6;
+    // A zone that was already written, stored as its index in the order zones were finished
+    private static final byte REFERENCE = 7;
+
+    private ZoneSerializer() {}
+
+    /**
+     * Saves a zone to a file, replacing it if it exists.
+     *
+     * @param zone The zone to save
+     * @param file The file to write
+     * @throws IOException If the file can't be written
+     * @throws IllegalArgumentException If the zone contains a type that can't be saved
+     */
+    public static void write(Zone zone, File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(zone, out);
+        }
+    }
+
+    /**
+     * Saves a zone to a stream. The stream is left open.
+     *
+     * @param zone The zone to save
+     * @param out The stream to write to
+     * @throws IOException If the stream can't be written
+     * @throws IllegalArgumentException If the zone contains a type that can't be saved
+     */
+    public static void write(Zone zone, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+        writeZone(zone, data, new IdentityHashMap<Zone, Integer>());
+        data.flush();
+    }
+
+    /**
+     * Saves a zone to a byte array.
+     *
+     * @param zone The zone to save
+     * @return The saved zone
+     * @throws IllegalArgumentException If the zone contains a type that can't be saved
+     */
+    public static byte[] toBytes(Zone zone) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(zone, out);
+        } catch (IOException e) {
+            // Byte array streams never fail
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Loads a zone from a file by mapping it into memory.
+     *
+     * @param file The file to read
+     * @return The loaded zone
+     * @throws IOException If the file can't be read
+     * @throws IllegalArgumentException If the file isn't a saved zone
+     */
+    public static Zone read(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+             FileChannel channel = input.getChannel()) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Loads a zone from a buffer, starting at its current position. Direct and mapped buffers are read without copying
+     * them first. The buffer's position is moved past the zone, and its byte order is set to big-endian, which zones are saved in.
+     *
+     * @param buffer The buffer to read
+     * @return The loaded zone
+     * @throws IllegalArgumentException If the buffer doesn't hold a saved zone
+     */
+    public static Zone read(ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a saved zone.");
+            }
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported zone format version " + version + ".");
+            }
+            return readZone(buffer, new ArrayList<Zone>());
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Saved zone is cut off.", e);
+        }
+    }
+
+    private static void writeZone(Zone zone, DataOutputStream out, Map<Zone, Integer> written) throws IOException {
+        zone = ZoneSnapshot.unwrap(zone);
+
+        Integer index = written.get(zone);
+        if (index != null) {
+            out.writeByte(REFERENCE);
+            out.writeInt(index);
+            return;
+        }
+
+        if (zone instanceof CircleZone) {
+            CircleZone circle = (CircleZone) zone;
+            out.writeByte(CIRCLE);
+            out.writeDouble(circle.getPosition().getX());
+            out.writeDouble(circle.getPosition().getY());
+            out.writeDouble(circle.getRadius());
+        } else if (zone instanceof PolygonZone) {
+            out.writeByte(POLYGON);
+            ((PolygonZone) zone).writeTo(out);
+        } else if (zone instanceof CompositeZone) {
+            List<Zone> children = ((CompositeZone) zone).getZones();
+            out.writeByte(COMPOSITE);
+            out.writeInt(children.size());
+            for (Zone child : children) {
+                writeZone(child, out, written);
+            }
+        } else if (zone instanceof IntersectionZone || zone instanceof DifferenceZone) {
+            BooleanZone combined = (BooleanZone) zone;
+            out.writeByte(zone instanceof IntersectionZone ? INTERSECTION : DIFFERENCE);
+            writeZone(combined.first, out, written);
+            writeZone(combined.second, out, written);
+        } else if (zone instanceof InflatedZone) {
+            InflatedZone inflated = (InflatedZone) zone;
+            out.writeByte(INFLATED);
+            out.writeDouble(inflated.getRadius());
+            writeZone(inflated.getZone(), out, written);
+        } else {
+            throw new IllegalArgumentException("Can't save a " + zone.getClass().getSimpleName() + ".");
+        }
+
+        // Numbered once finished, which is also when the reader has built it
+        written.put(zone, written.size());
+    }
+
+    private static Zone readZone(ByteBuffer in, List<Zone> read) {
+        byte type = in.get();
+        Zone zone;
+        switch (type) {
+            case CIRCLE:
+                zone = new CircleZone(new Point(in.getDouble(), in.getDouble()), in.getDouble());
+                break;
+            case POLYGON:
+                zone = PolygonZone.readFrom(in);
+                break;
+            case COMPOSITE:
+                int childCount = in.getInt();
+                if (childCount < 1 || childCount > in.remaining()) {
+                    throw new IllegalArgumentException("Saved complex zone has an invalid number of zones.");
+                }
+                Zone[] children = new Zone[childCount];
+                for (int i = 0; i < children.length; i++) {
+                    children[i] = readZone(in, read);
+                }
+                zone = new CompositeZone(children);
+                break;
+            case INTERSECTION:
+                zone = new IntersectionZone(readZone(in, read), readZone(in, read));
+                break;
+            case DIFFERENCE:
+                zone = new DifferenceZone(readZone(in, read), readZone(in, read));
+                break;
+            case INFLATED:
+                double radius = in.getDouble();
+                zone = new InflatedZone(readZone(in, read), radius);
+                break;
+            case REFERENCE:
+                int index = in.getInt();
+                if (index < 0 || index >= read.size()) {
+                    throw new IllegalArgumentException("Saved zone refers to a zone that doesn't exist.");
+                }
+                return read.get(index);
+            default:
+                throw new IllegalArgumentException("Unknown zone type " + type + " in saved zone.");
+        }
+
+        read.add(zone);
+        return zone;
+    }
+
+    /**
+     * Reads a run of doubles in one bulk copy.
+     */
+    static double[] readDoubles(ByteBuffer in, int count) {
+        if (count < 0 || count > in.remaining() / 8) {
+            throw new IllegalArgumentException("Saved zone is cut off.");
+        }
+
+        double[] values = new double[count];
+        in.asDoubleBuffer().get(values);
+        in.position(in.position() + 8 * count);
+        return values;
+    }
+}
@@ -0,0 +1,227 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A frozen copy of a zone that other threads can query while the original keeps moving.
+ * <p>
+ * Zones fill in cached data the first time it is asked for, so even queries write to them.
+ * A snapshot copies the zone and fills in all of that up front, so queries on it never write anything
+ * and any number of threads can read it at once without locks. Snapshots can't be moved.
+ * <p>
+ * Take the snapshot on the thread that moves the zone, then hand it over through a volatile field,
+ * which {@link SnapshotPublisher} does for you.
+ */
+public final class ZoneSnapshot implements Zone {
+    private final Zone zone;
+    private final long version;
+
+    private ZoneSnapshot(Zone zone, long version) {
+        this.zone = zone;
+        this.version = version;
+    }
+
+    /**
+     * Copies a zone as it is right now. Call this on the thread that moves the zone.
+     *
+     * @param zone The zone to copy
+     * @return The snapshot
+     * @throws IllegalArgumentException If the zone is of a type that can't be copied
+     */
+    public static ZoneSnapshot of(Zone zone) {
+        if (zone instanceof ZoneSnapshot) {
+            return (ZoneSnapshot) zone;
+        }
+
+        // Components shared by several branches stay shared in the copy
+        Zone copy = copy(zone, new IdentityHashMap<Zone, Zone>());
+        prepare(copy);
+        return new ZoneSnapshot(copy, zone.getVersion());
+    }
+
+    private static Zone copy(Zone zone, Map<Zone, Zone> copies) {
+        Zone copy = copies.get(zone);
+        if (copy != null) return copy;
+
+        if (zone instanceof CircleZone) {
+            CircleZone circle = (CircleZone) zone;
+            copy = new CircleZone(circle.getPosition(), circle.getRadius());
+        } else if (zone instanceof PolygonZone) {
+            copy = new PolygonZone((PolygonZone) zone);
+        } else if (zone instanceof CompositeZone) {
+            List<Zone> children = ((CompositeZone) zone).getZones();
+            Zone[] childCopies = new Zone[children.size()];
+            for (int i = 0; i < childCopies.length; i++) {
+                childCopies[i] = copy(children.get(i), copies);
+            }
+            copy = new CompositeZone(childCopies);
+        } else if (zone instanceof IntersectionZone) {
+            IntersectionZone intersection = (IntersectionZone) zone;
+            copy = new IntersectionZone(copy(intersection.first, copies), copy(intersection.second, copies));
+        } else if (zone instanceof DifferenceZone) {
+            DifferenceZone difference = (DifferenceZone) zone;
+            copy = new DifferenceZone(copy(difference.first, copies), copy(difference.second, copies));
+        } else if (zone instanceof InflatedZone) {
+            InflatedZone inflated = (InflatedZone) zone;
+            copy = new InflatedZone(copy(inflated.getZone(), copies), inflated.getRadius());
+        } else if (zone instanceof ZoneSnapshot) {
+            copy = zone;
+        } else {
+            throw new IllegalArgumentException("Can't take a snapshot of a " + zone.getClass().getSimpleName() + ".");
+        }
+
+        copies.put(zone, copy);
+        return copy;
+    }
+
+    /**
+     * Fills in every cache a query could otherwise fill in later, so the copy is never written to once it is shared.
+     */
+    private static void prepare(Zone zone) {
+        zone.getPosition();
+        zone.getBoundingBox();
+
+        if (zone instanceof PolygonZone) {
+            PolygonZone polygon = (PolygonZone) zone;
+            polygon.getCornerX(0);
+            PolygonZone[] parts = polygon.getConvexParts();
+            if (parts != null && parts[0] != polygon) {
+                for (PolygonZone part : parts) prepare(part);
+            }
+        } else if (zone instanceof CompositeZone) {
+            for (Zone child : ((CompositeZone) zone).getZones()) prepare(child);
+        } else if (zone instanceof BooleanZone) {
+            BooleanZone combined = (BooleanZone) zone;
+            prepare(combined.first);
+            prepare(combined.second);
+            Zone result = combined.getResult();
+            if (result != null) prepare(result);
+        } else if (zone instanceof InflatedZone) {
+            prepare(((InflatedZone) zone).getZone());
+        }
+    }
+
+    /**
+     * Other snapshots are queried through their copies, since zones don't know about snapshots.
+     */
+    static Zone unwrap(Zone zone) {
+        return zone instanceof ZoneSnapshot ? ((ZoneSnapshot) zone).zone : zone;
+    }
+
+    @Override
+    public Point getPosition() {
+        return zone.getPosition();
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return zone.getBoundingBox();
+    }
+
+    @Override
+    public boolean contains(Point point) {
+        return zone.contains(point);
+    }
+
+    @Override
+    public boolean contains(double x, double y) {
+        return zone.contains(x, y);
+    }
+
+    @Override
+    public boolean isInside(Zone zone) {
+        return this.zone.isInside(unwrap(zone));
+    }
+
+    @Override
+    public boolean isFullyInside(Zone zone) {
+        return this.zone.isFullyInside(unwrap(zone));
+    }
+
+    @Override
+    public double distanceTo(Point point) {
+        return zone.distanceTo(point);
+    }
+
+    @Override
+    public double distanceTo(double x, double y) {
+        return zone.distanceTo(x, y);
+    }
+
+    @Override
+    public double distanceTo(Zone zone) {
+        return this.zone.distanceTo(unwrap(zone));
+    }
+
+    @Override
+    public double distanceToBoundary(Point point) {
+        return zone.distanceToBoundary(point);
+    }
+
+    @Override
+    public double distanceToBoundary(double x, double y) {
+        return zone.distanceToBoundary(x, y);
+    }
+
+    @Override
+    public double raycast(double originX, double originY, double heading, double maxDistance) {
+        return zone.raycast(originX, originY, heading, maxDistance);
+    }
+
+    @Override
+    public boolean intersectsSegment(double startX, double startY, double endX, double endY) {
+        return zone.intersectsSegment(startX, startY, endX, endY);
+    }
+
+    /**
+     * Finds the nearest boundary point on the copy. The result names the snapshot itself rather than a component,
+     * since handing out the copy would let a reader move it.
+     */
+    @Override
+    public void nearestBoundaryPoint(double x, double y, NearestPoint out) {
+        zone.nearestBoundaryPoint(x, y, out);
+        out.set(out.getX(), out.getY(), out.getNormalX(), out.getNormalY(), out.getDistance(), out.getEdgeIndex(), this);
+    }
+
+    @Override
+    public void containsAll(double[] xs, double[] ys, boolean[] out) {
+        zone.containsAll(xs, ys, out);
+    }
+
+    @Override
+    public void distanceToAll(double[] xs, double[] ys, double[] out) {
+        zone.distanceToAll(xs, ys, out);
+    }
+
+    /**
+     * Snapshots can't be moved. Move the original and take a new snapshot instead.
+     *
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public void moveBy(double deltaX, double deltaY) {
+        throw new UnsupportedOperationException("Zone snapshots can't be moved.");
+    }
+
+    /**
+     * Snapshots can't be moved. Move the original and take a new snapshot instead.
+     *
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public void setPosition(double posX, double posY) {
+        throw new UnsupportedOperationException("Zone snapshots can't be moved.");
+    }
+
+    /**
+     * Gets the version the original zone had when the snapshot was taken.
+     *
+     * @return The original zone's version at the time of the snapshot
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,238 @@
+package com.skeletonarmy.marrow.zones;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Watches a point, usually the robot's position, and runs actions when it enters, leaves or stays in zones.
+ * Call {@link #update(double, double)} once per loop with the latest position.
+ * <p>
+ * A hysteresis band keeps a point sitting on a boundary from flickering in and out. The point has to get
+ * the band's width inside a zone to enter it, and the band's width outside to leave it again.
+ * <p>
+ * Zones are only re-checked when the state could have changed. The distance to a boundary can't change by
+ * more than the point moved, so a zone that was far from switching when it was last checked is skipped until
+ * the point has moved far enough, or the zone itself moved. Zones whose bounding box the point is outside of
+ * are never entered, so they only cost a box check.
+ */
+public class ZoneTracker {
+    private static class Dwell {
+        final double seconds;
+        final Runnable action;
+        boolean fired;
+
+        Dwell(double seconds, Runnable action) {
+            this.seconds = seconds;
+            this.action = action;
+        }
+    }
+
+    private static class Entry {
+        final Zone zone;
+        final List<Runnable> enterActions = new ArrayList<>();
+        final List<Runnable> exitActions = new ArrayList<>();
+        final List<Dwell> dwells = new ArrayList<>();
+
+        boolean inside;
+        double enterTime;
+
+        // The boundary distance when the zone was last checked. Outside the zone this may be a lower bound.
+        double distance;
+        double checkedX, checkedY;
+        long checkedVersion = -1;
+
+        Entry(Zone zone) {
+            this.zone = zone;
+        }
+    }
+
+    private final double hysteresis;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Creates a tracker that switches exactly on the zone boundaries.
+     */
+    public ZoneTracker() {
+        this(0.0);
+    }
+
+    /**
+     * Creates a tracker with a hysteresis band around the zone boundaries.
+     *
+     * @param hysteresis How far past a boundary the point has to go to enter or leave a zone
+     */
+    public ZoneTracker(double hysteresis) {
+        if (hysteresis < 0) throw new IllegalArgumentException("Hysteresis can't be negative.");
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Runs an action every time the point enters a zone.
+     *
+     * @param zone The zone to watch
+     * @param action The action to run
+     * @return This tracker, for chaining
+     */
+    public ZoneTracker onEnter(Zone zone, Runnable action) {
+        entryFor(zone).enterActions.add(action);
+        return this;
+    }
+
+    /**
+     * Runs an action every time the point leaves a zone.
+     *
+     * @param zone The zone to watch
+     * @param action The action to run
+     * @return This tracker, for chaining
+     */
+    public ZoneTracker onExit(Zone zone, Runnable action) {
+        entryFor(zone).exitActions.add(action);
+        return this;
+    }
+
+    /**
+     * Runs an action once the point has stayed in a zone for a while. It runs again on the next visit.
+     *
+     * @param zone The zone to watch
+     * @param seconds How long the point has to stay in the zone
+     * @param action The action to run
+     * @return This tracker, for chaining
+     */
+    public ZoneTracker onDwell(Zone zone, double seconds, Runnable action) {
+        entryFor(zone).dwells.add(new Dwell(seconds, action));
+        return this;
+    }
+
+    /**
+     * Stops watching a zone and drops all of its actions.
+     *
+     * @param zone The zone to stop watching
+     * @return True if the zone was being watched
+     */
+    public boolean remove(Zone zone) {
+        Entry entry = findEntry(zone);
+        return entry != null && entries.remove(entry);
+    }
+
+    /**
+     * Checks if the point is currently in a zone, as of the last update.
+     *
+     * @param zone The zone to check
+     * @return True if the point has entered the zone and not left it yet
+     */
+    public boolean isInside(Zone zone) {
+        Entry entry = findEntry(zone);
+        return entry != null && entry.inside;
+    }
+
+    /**
+     * Updates the tracker with the latest position.
+     *
+     * @param point The position to track
+     */
+    public void update(Point point) {
+        update(point.getX(), point.getY());
+    }
+
+    /**
+     * Updates the tracker with the latest position.
+     *
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     */
+    public void update(double x, double y) {
+        update(x, y, System.nanoTime() / 1e9);
+    }
+
+    /**
+     * Updates the tracker with the latest position and the current time.
+     *
+     * @param x The X coordinate of the position
+     * @param y The Y coordinate of the position
+     * @param timeSeconds The current time in seconds, from any fixed starting point
+     */
+    public void update(double x, double y, double timeSeconds) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+
+            if (mayHaveChanged(entry, x, y)) {
+                check(entry, x, y, timeSeconds);
+            }
+
+            if (entry.inside) {
+                for (int j = 0; j < entry.dwells.size(); j++) {
+                    Dwell dwell = entry.dwells.get(j);
+                    if (!dwell.fired && timeSeconds - entry.enterTime >= dwell.seconds) {
+                        dwell.fired = true;
+                        dwell.action.run();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean mayHaveChanged(Entry entry, double x, double y) {
+        if (entry.zone.getVersion() != entry.checkedVersion) {
+            return true;
+        }
+
+        double moved = Math.hypot(x - entry.checkedX, y - entry.checkedY);
+        if (entry.inside) {
+            return entry.distance + moved > hysteresis;
+        }
+        return entry.distance - moved <= -hysteresis;
+    }
+
+    private void check(Entry entry, double x, double y, double timeSeconds) {
+        entry.checkedX = x;
+        entry.checkedY = y;
+        entry.checkedVersion = entry.zone.getVersion();
+
+        BoundingBox bounds = entry.zone.getBoundingBox();
+        if (!entry.inside && !bounds.contains(x, y)) {
+            // Outside the box the zone can't be entered, and the distance to the box is a lower bound
+            double dx = Math.max(0.0, Math.max(bounds.getMinX() - x, x - bounds.getMaxX()));
+            double dy = Math.max(0.0, Math.max(bounds.getMinY() - y, y - bounds.getMaxY()));
+            entry.distance = Math.sqrt(dx * dx + dy * dy);
+            return;
+        }
+
+        entry.distance = entry.zone.distanceToBoundary(x, y);
+
+        if (!entry.inside && entry.distance <= -hysteresis) {
+            entry.inside = true;
+            entry.enterTime = timeSeconds;
+            for (int j = 0; j < entry.dwells.size(); j++) {
+                entry.dwells.get(j).fired = false;
+            }
+            runAll(entry.enterActions);
+        } else if (entry.inside && entry.distance > hysteresis) {
+            entry.inside = false;
+            runAll(entry.exitActions);
+        }
+    }
+
+    private static void runAll(List<Runnable> actions) {
+        for (int i = 0; i < actions.size(); i++) {
+            actions.get(i).run();
+        }
+    }
+
+    private Entry entryFor(Zone zone) {
+        Entry entry = findEntry(zone);
+        if (entry == null) {
+            entry = new Entry(zone);
+            entries.add(entry);
+        }
+        return entry;
+    }
+
+    private Entry findEntry(Zone zone) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).zone == zone) {
+                return entries.get(i);
+            }
+        }
+        return null;
+    }
+}
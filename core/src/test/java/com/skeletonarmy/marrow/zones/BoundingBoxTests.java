@@ -0,0 +1,78 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class BoundingBoxTests {
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void contains_pointInsideAndOnEdge_returnsTrue() {
+        // Arrange
+        BoundingBox box = new BoundingBox(-1, -2, 3, 4);
+
+        // Assert
+        assertTrue(box.contains(0, 0));
+        assertTrue(box.contains(3, 4));
+        assertFalse(box.contains(3.1, 0));
+    }
+
+    @Test
+    public void intersects_touchingAndSeparatedBoxes_returnsExpected() {
+        // Arrange
+        BoundingBox box = new BoundingBox(0, 0, 2, 2);
+
+        // Assert
+        assertTrue(box.intersects(new BoundingBox(2, 2, 4, 4)));
+        assertFalse(box.intersects(new BoundingBox(2.5, 0, 4, 2)));
+    }
+
+    @Test
+    public void union_twoBoxes_enclosesBoth() {
+        // Arrange
+        BoundingBox a = new BoundingBox(0, 0, 2, 2);
+        BoundingBox b = new BoundingBox(-1, 1, 1, 5);
+
+        // Act
+        BoundingBox union = a.union(b);
+
+        // Assert
+        assertEquals(-1, union.getMinX(), DELTA);
+        assertEquals(0, union.getMinY(), DELTA);
+        assertEquals(2, union.getMaxX(), DELTA);
+        assertEquals(5, union.getMaxY(), DELTA);
+        assertTrue(union.contains(a));
+        assertTrue(union.contains(b));
+    }
+
+    @Test
+    public void intersection_twoBoxes_coversSharedArea() {
+        // Arrange
+        BoundingBox a = new BoundingBox(0, 0, 2, 2);
+        BoundingBox b = new BoundingBox(-1, 1, 1, 5);
+
+        // Act
+        BoundingBox shared = a.intersection(b);
+
+        // Assert
+        assertEquals(0, shared.getMinX(), DELTA);
+        assertEquals(1, shared.getMinY(), DELTA);
+        assertEquals(1, shared.getMaxX(), DELTA);
+        assertEquals(2, shared.getMaxY(), DELTA);
+    }
+
+    @Test
+    public void intersection_separateBoxes_hasNoArea() {
+        // Arrange
+        BoundingBox a = new BoundingBox(0, 0, 2, 2);
+        BoundingBox b = new BoundingBox(5, 0, 6, 2);
+
+        // Act
+        BoundingBox shared = a.intersection(b);
+
+        // Assert
+        assertEquals(shared.getMinX(), shared.getMaxX(), DELTA);
+    }
+}
@@ -2,6 +2,7 @@ package com.skeletonarmy.marrow.zones;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -445,4 +446,171 @@ public class CircleZoneTests {
         assertTrue(circle.contains(new Point(5, 8))); // Top edge
         assertTrue(circle.contains(new Point(5, -2))); // Bottom edge
     }
-}
\ No newline at end of file
+
+    // --- Tests for coordinate overloads ---
+
+    @Test
+    public void containsCoordinates_matchesPointOverload() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(2, 3), 5.0);
+
+        // Assert
+        assertTrue(zone.contains(2, 8));
+        assertFalse(zone.contains(7.1, 3));
+        assertEquals(zone.contains(new Point(5, 6)), zone.contains(5, 6));
+    }
+
+    @Test
+    public void distanceCoordinates_matchesPointOverload() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 3.0);
+
+        // Assert
+        assertEquals(4.0, zone.distanceTo(7.0, 0.0), DELTA);
+        assertEquals(0.0, zone.distanceTo(1.0, 1.0), DELTA);
+        assertEquals(-3.0, zone.distanceToBoundary(0.0, 0.0), DELTA);
+        assertEquals(zone.distanceToBoundary(new Point(4, 5)), zone.distanceToBoundary(4, 5), DELTA);
+    }
+
+    // --- Tests for getBoundingBox() ---
+
+    @Test
+    public void getBoundingBox_followsMovedCircle() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(1, 2), 3.0);
+
+        // Act
+        zone.moveBy(4, -1);
+        BoundingBox bounds = zone.getBoundingBox();
+
+        // Assert
+        assertEquals(2.0, bounds.getMinX(), DELTA);
+        assertEquals(-2.0, bounds.getMinY(), DELTA);
+        assertEquals(8.0, bounds.getMaxX(), DELTA);
+        assertEquals(4.0, bounds.getMaxY(), DELTA);
+    }
+
+    // --- Tests for batch queries ---
+
+    @Test
+    public void containsAll_mixedPoints_matchesSingleQueries() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 5.0);
+        double[] xs = { 1, 5, 5, -3 };
+        double[] ys = { 1, 0, 5, -4 };
+        boolean[] out = new boolean[xs.length];
+
+        // Act
+        zone.containsAll(xs, ys, out);
+
+        // Assert
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(zone.contains(xs[i], ys[i]), out[i]);
+        }
+    }
+
+    @Test
+    public void distanceToAll_mixedPoints_matchesSingleQueries() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 3.0);
+        double[] xs = { 7, 0, 0 };
+        double[] ys = { 0, 0, -5 };
+        double[] out = new double[xs.length];
+
+        // Act
+        zone.distanceToAll(xs, ys, out);
+
+        // Assert
+        assertEquals(4.0, out[0], DELTA);
+        assertEquals(0.0, out[1], DELTA);
+        assertEquals(2.0, out[2], DELTA);
+    }
+
+    // --- Tests for raycast() and intersectsSegment() ---
+
+    @Test
+    public void raycast_towardCircle_hitsNearSide() {
+        CircleZone zone = new CircleZone(new Point(10, 0), 2.0);
+
+        assertEquals(8.0, zone.raycast(0, 0, 0, 20), DELTA);
+        assertEquals(8.0, zone.raycast(new Point(10, -10), Math.PI / 2, 20), DELTA);
+    }
+
+    @Test
+    public void raycast_missOrTooShort_returnsMinusOne() {
+        CircleZone zone = new CircleZone(new Point(10, 0), 2.0);
+
+        assertEquals(-1.0, zone.raycast(0, 0, Math.PI, 20), DELTA);
+        assertEquals(-1.0, zone.raycast(0, 0, Math.PI / 2, 20), DELTA);
+        assertEquals(-1.0, zone.raycast(0, 0, 0, 7.5), DELTA);
+    }
+
+    @Test
+    public void raycast_originInside_isZero() {
+        CircleZone zone = new CircleZone(new Point(10, 0), 2.0);
+
+        assertEquals(0.0, zone.raycast(11, 0, 0, 5), DELTA);
+    }
+
+    @Test
+    public void intersectsSegment_passingThroughOrNot_isCorrect() {
+        CircleZone zone = new CircleZone(new Point(0, 0), 2.0);
+
+        assertTrue(zone.intersectsSegment(-5, 1, 5, 1));
+        assertTrue(zone.intersectsSegment(new Point(0, 0), new Point(0.5, 0.5)));
+        assertFalse(zone.intersectsSegment(-5, 3, 5, 3));
+        assertFalse(zone.intersectsSegment(3, 0, 6, 0));
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointOutside_isOnRayFromCenter() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 5.0);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        zone.nearestBoundaryPoint(6, 8, nearest);
+
+        // Assert
+        assertEquals(3.0, nearest.getX(), DELTA);
+        assertEquals(4.0, nearest.getY(), DELTA);
+        assertEquals(0.6, nearest.getNormalX(), DELTA);
+        assertEquals(0.8, nearest.getNormalY(), DELTA);
+        assertEquals(5.0, nearest.getDistance(), DELTA);
+        assertEquals(-1, nearest.getEdgeIndex());
+        assertSame(zone, nearest.getZone());
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointInside_hasNegativeDistance() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(1, 1), 5.0);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        zone.nearestBoundaryPoint(new Point(1, 3), nearest);
+
+        // Assert
+        assertEquals(1.0, nearest.getX(), DELTA);
+        assertEquals(6.0, nearest.getY(), DELTA);
+        assertEquals(0.0, nearest.getNormalX(), DELTA);
+        assertEquals(1.0, nearest.getNormalY(), DELTA);
+        assertEquals(-3.0, nearest.getDistance(), DELTA);
+    }
+
+    @Test
+    public void nearestBoundaryPoint_atCenter_picksPositiveX() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 2.0);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        zone.nearestBoundaryPoint(0, 0, nearest);
+
+        // Assert
+        assertEquals(2.0, nearest.getX(), DELTA);
+        assertEquals(0.0, nearest.getY(), DELTA);
+        assertEquals(1.0, nearest.getNormalX(), DELTA);
+        assertEquals(-2.0, nearest.getDistance(), DELTA);
+    }
+}
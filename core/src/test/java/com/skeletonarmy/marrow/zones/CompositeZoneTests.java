@@ -2,6 +2,8 @@ package com.skeletonarmy.marrow.zones;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -269,4 +271,285 @@ public class CompositeZoneTests {
         // New square center: 20 - 5 = 15, 10 - 0 = 10. Square is centered at (15, 10)
         assertTrue(complex.contains(new Point(15, 10)));
     }
+
+    // --- Tests for coordinate overloads ---
+
+    @Test
+    public void containsCoordinates_matchesPointOverload() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        assertTrue(complex.contains(1, 1));
+        assertTrue(complex.contains(10, 1));
+        assertFalse(complex.contains(5, 0));
+    }
+
+    @Test
+    public void distanceCoordinates_matchesPointOverload() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        assertEquals(0.0, complex.distanceTo(1, 1), DELTA);
+        assertEquals(3.0, complex.distanceTo(5, 0), DELTA);
+        assertEquals(complex.distanceToBoundary(new Point(10, 1)), complex.distanceToBoundary(10, 1), DELTA);
+    }
+
+    // --- Tests for getBoundingBox() ---
+
+    @Test
+    public void getBoundingBox_enclosesAllComponents() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        BoundingBox bounds = complex.getBoundingBox();
+
+        assertEquals(-2.0, bounds.getMinX(), DELTA);
+        assertEquals(-2.0, bounds.getMinY(), DELTA);
+        assertEquals(12.0, bounds.getMaxX(), DELTA);
+        assertEquals(2.0, bounds.getMaxY(), DELTA);
+    }
+
+    // --- Tests for batch queries ---
+
+    @Test
+    public void containsAll_pointsAcrossComponents_matchesSingleQueries() {
+        CompositeZone complex = createSeparatedComplexZone();
+        double[] xs = { 1, 10, 5 };
+        double[] ys = { 1, 1, 0 };
+        boolean[] out = new boolean[xs.length];
+
+        complex.containsAll(xs, ys, out);
+
+        assertTrue(out[0]);
+        assertTrue(out[1]);
+        assertFalse(out[2]);
+    }
+
+    // --- Tests for nested composites ---
+
+    @Test
+    public void nestedComposite_matchesFlatComposite() {
+        CircleZone circle = new CircleZone(new Point(0, 0), 2);
+        PolygonZone square = new PolygonZone(new Point(10, 0), 4, 4);
+        PolygonZone far = new PolygonZone(new Point(20, 0), 2, 2);
+        CompositeZone nested = new CompositeZone(new CompositeZone(circle, square), far);
+        CompositeZone flat = new CompositeZone(circle, square, far);
+
+        assertTrue(nested.contains(10, 1));
+        assertFalse(nested.contains(5, 0));
+        assertEquals(flat.distanceTo(5, 0), nested.distanceTo(5, 0), DELTA);
+        assertEquals(flat.distanceToBoundary(10, 1), nested.distanceToBoundary(10, 1), DELTA);
+        assertEquals(-2.0, nested.getBoundingBox().getMinX(), DELTA);
+        assertEquals(21.0, nested.getBoundingBox().getMaxX(), DELTA);
+    }
+
+    @Test
+    public void nestedComposite_innerMoved_outerSeesNewPosition() {
+        CircleZone circle = new CircleZone(new Point(0, 0), 2);
+        CompositeZone inner = new CompositeZone(circle);
+        CompositeZone outer = new CompositeZone(inner, new CircleZone(new Point(20, 0), 1));
+        assertTrue(outer.contains(0, 0));
+
+        inner.moveBy(5, 0);
+
+        assertFalse(outer.contains(0, 0));
+        assertTrue(outer.contains(5, 0));
+        assertEquals(3.0, outer.getBoundingBox().getMinX(), DELTA);
+    }
+
+    @Test
+    public void moveBy_sharedComponent_movesItOnce() {
+        CircleZone shared = new CircleZone(new Point(0, 0), 1);
+        CompositeZone complex = new CompositeZone(new CompositeZone(shared), new CompositeZone(shared));
+
+        complex.moveBy(3, 0);
+
+        assertEquals(3.0, shared.getPosition().getX(), DELTA);
+    }
+
+    // --- Tests for cached position and bounds ---
+
+    @Test
+    public void getPosition_nothingMoved_returnsCachedPoint() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        assertSame(complex.getPosition(), complex.getPosition());
+    }
+
+    @Test
+    public void getBoundingBox_nothingMoved_returnsCachedBox() {
+        CompositeZone complex = createSeparatedComplexZone();
+        BoundingBox bounds = complex.getBoundingBox();
+
+        assertSame(bounds, complex.getBoundingBox());
+
+        complex.moveBy(1, 0);
+
+        assertNotSame(bounds, complex.getBoundingBox());
+        assertEquals(bounds.getMinX() + 1, complex.getBoundingBox().getMinX(), DELTA);
+    }
+
+    @Test
+    public void getPosition_componentMovedDirectly_isUpdated() {
+        CircleZone circle = new CircleZone(new Point(10, 0), 2);
+        CompositeZone complex = new CompositeZone(new CircleZone(new Point(0, 0), 1), circle);
+        assertEquals(5.0, complex.getPosition().getX(), DELTA);
+
+        circle.moveBy(4, 2);
+
+        assertEquals(7.0, complex.getPosition().getX(), DELTA);
+        assertEquals(1.0, complex.getPosition().getY(), DELTA);
+        assertEquals(16.0, complex.getBoundingBox().getMaxX(), DELTA);
+    }
+
+    @Test
+    public void getVersion_nestedPolygonMovedDirectly_changes() {
+        PolygonZone square = new PolygonZone(new Point(10, 0), 2, 2);
+        CompositeZone complex = new CompositeZone(new CircleZone(new Point(0, 0), 1), new CompositeZone(square));
+        long before = complex.getVersion();
+        assertEquals(before, complex.getVersion());
+
+        square.setRotation(0.5);
+
+        assertTrue(complex.getVersion() != before);
+        assertEquals(complex.getVersion(), complex.getVersion());
+    }
+
+    @Test
+    public void getVersion_unrelatedZoneMoved_isUnchanged() {
+        CompositeZone complex = createSeparatedComplexZone();
+        CircleZone unrelated = new CircleZone(new Point(50, 50), 1);
+        long before = complex.getVersion();
+        Point position = complex.getPosition();
+
+        unrelated.moveBy(1, 1);
+
+        assertEquals(before, complex.getVersion());
+        assertSame(position, complex.getPosition());
+    }
+
+    @Test
+    public void getPosition_sharedComponentMovedThroughOtherZone_isUpdated() {
+        CircleZone shared = new CircleZone(new Point(10, 0), 2);
+        CompositeZone first = new CompositeZone(new CircleZone(new Point(0, 0), 1), shared);
+        CompositeZone second = new CompositeZone(shared);
+        assertEquals(5.0, first.getPosition().getX(), DELTA);
+        long versionBefore = first.getVersion();
+
+        second.moveBy(4, 0);
+
+        assertTrue(first.getVersion() != versionBefore);
+        assertEquals(7.0, first.getPosition().getX(), DELTA);
+        assertEquals(16.0, first.getBoundingBox().getMaxX(), DELTA);
+    }
+
+    @Test
+    public void setPosition_shiftsCachedPositionAndBounds() {
+        CompositeZone complex = createSeparatedComplexZone();
+        complex.getBoundingBox();
+
+        complex.setPosition(0, 10);
+
+        assertEquals(0.0, complex.getPosition().getX(), DELTA);
+        assertEquals(10.0, complex.getPosition().getY(), DELTA);
+        assertEquals(-7.0, complex.getBoundingBox().getMinX(), DELTA);
+        assertEquals(12.0, complex.getBoundingBox().getMaxY(), DELTA);
+        assertTrue(complex.contains(5, 10));
+        assertFalse(complex.contains(1, 1));
+    }
+
+    @Test
+    public void distanceCaching_pathPastComponents_matchesUncached() {
+        // Arrange
+        CompositeZone cached = createSeparatedComplexZone();
+        CompositeZone uncached = createSeparatedComplexZone();
+        cached.setDistanceCaching(true);
+
+        // Act & Assert
+        for (int step = 0; step <= 300; step++) {
+            double x = -5 + step * 0.06;
+            double y = 3 * Math.cos(step * 0.04);
+            assertEquals(uncached.distanceTo(x, y), cached.distanceTo(x, y), 1e-9);
+            assertEquals(uncached.distanceToBoundary(x, y), cached.distanceToBoundary(x, y), 1e-9);
+        }
+    }
+
+    @Test
+    public void distanceCaching_componentMovedDirectly_isNoticed() {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(10, 0), 2);
+        CompositeZone complex = new CompositeZone(new CircleZone(new Point(0, 0), 1), circle);
+        complex.setDistanceCaching(true);
+        assertEquals(1.0, complex.distanceTo(7, 0), DELTA);
+
+        // Act
+        circle.moveBy(-4, 0);
+
+        // Assert
+        assertEquals(0.0, complex.distanceTo(7, 0), DELTA);
+        assertEquals(1.0, complex.distanceTo(3, 0), DELTA);
+    }
+
+    @Test
+    public void raycast_throughComponents_hitsNearestOne() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        assertEquals(3.0, complex.raycast(5, 0, 0, 20), DELTA);
+        assertEquals(3.0, complex.raycast(5, 0, Math.PI, 20), DELTA);
+        assertEquals(-1.0, complex.raycast(5, 0, Math.PI / 2, 20), DELTA);
+        assertEquals(0.0, complex.raycast(10, 0, 0, 20), DELTA);
+    }
+
+    @Test
+    public void raycast_unboundedMiss_returnsNegative() {
+        CompositeZone complex = new CompositeZone(new PolygonZone(new Point(0, 0), 2, 2), new CircleZone(new Point(0, -10), 1));
+
+        assertEquals(-1.0, complex.raycast(5, 5, 0, Double.POSITIVE_INFINITY), DELTA);
+        assertEquals(-1.0, complex.raycast(5, 5, 0, Double.MAX_VALUE), DELTA);
+        assertEquals(4.0, complex.raycast(5, 0, Math.PI, Double.POSITIVE_INFINITY), DELTA);
+    }
+
+    @Test
+    public void intersectsSegment_betweenComponents_isFalse() {
+        CompositeZone complex = createSeparatedComplexZone();
+
+        assertFalse(complex.intersectsSegment(3, -5, 7, 5));
+        assertTrue(complex.intersectsSegment(5, 0, 9, 0));
+        assertTrue(complex.intersectsSegment(new Point(-10, 1), new Point(-1, 1)));
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointOutside_usesNearestComponent() {
+        // Arrange
+        CircleZone left = new CircleZone(new Point(0, 0), 2);
+        PolygonZone right = new PolygonZone(new Point(10, 0), 4, 4);
+        CompositeZone composite = new CompositeZone(left, right);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        composite.nearestBoundaryPoint(6, 0, nearest);
+
+        // Assert
+        assertSame(right, nearest.getZone());
+        assertEquals(8.0, nearest.getX(), DELTA);
+        assertEquals(0.0, nearest.getY(), DELTA);
+        assertEquals(-1.0, nearest.getNormalX(), DELTA);
+        assertEquals(2.0, nearest.getDistance(), DELTA);
+        assertEquals(composite.distanceToBoundary(6, 0), nearest.getDistance(), DELTA);
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointInside_matchesDistanceToBoundary() {
+        // Arrange
+        CircleZone left = new CircleZone(new Point(0, 0), 2);
+        PolygonZone right = new PolygonZone(new Point(10, 0), 4, 4);
+        CompositeZone composite = new CompositeZone(left, right);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        composite.nearestBoundaryPoint(0.5, 0, nearest);
+
+        // Assert
+        assertSame(left, nearest.getZone());
+        assertEquals(2.0, nearest.getX(), DELTA);
+        assertEquals(1.0, nearest.getNormalX(), DELTA);
+        assertEquals(composite.distanceToBoundary(0.5, 0), nearest.getDistance(), DELTA);
+    }
 }
@@ -0,0 +1,157 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DifferenceZoneTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * A 12x12 area centered on the origin with a 4x4 sub-zone cut out of its middle.
+     */
+    private DifferenceZone createAreaWithHole() {
+        PolygonZone area = new PolygonZone(new Point(0, 0), 12, 12);
+        PolygonZone subZone = new PolygonZone(new Point(0, 0), 4, 4);
+        return new DifferenceZone(area, subZone);
+    }
+
+    @Test
+    public void contains_pointInRemovedZone_isFalse() {
+        DifferenceZone zone = createAreaWithHole();
+
+        assertFalse(zone.contains(0, 0));
+        assertTrue(zone.contains(4, 4));
+        assertTrue(zone.contains(2, 0));
+        assertFalse(zone.contains(7, 0));
+    }
+
+    @Test
+    public void distanceTo_pointInRemovedZone_measuresToItsEdge() {
+        DifferenceZone zone = createAreaWithHole();
+
+        assertEquals(1.0, zone.distanceTo(1, 0), DELTA);
+        assertEquals(0.0, zone.distanceTo(new Point(4, 4)), DELTA);
+        assertEquals(2.0, zone.distanceTo(8, 0), DELTA);
+    }
+
+    @Test
+    public void distanceToBoundary_pointInside_measuresToNearestEdge() {
+        DifferenceZone zone = createAreaWithHole();
+
+        assertEquals(-1.0, zone.distanceToBoundary(3, 0), DELTA);
+        assertEquals(-1.0, zone.distanceToBoundary(5, 0), DELTA);
+        assertEquals(1.0, zone.distanceToBoundary(1, 0), DELTA);
+    }
+
+    @Test
+    public void distanceToZone_robotInRemovedZone_measuresToRemainingArea() {
+        DifferenceZone zone = createAreaWithHole();
+        CircleZone robot = new CircleZone(new Point(0, 0), 1);
+
+        assertEquals(1.0, zone.distanceTo(robot), DELTA);
+        assertEquals(1.0, robot.distanceTo(zone), DELTA);
+        assertFalse(robot.isInside(zone));
+    }
+
+    @Test
+    public void moveBy_movesBothZones() {
+        PolygonZone area = new PolygonZone(new Point(0, 0), 12, 12);
+        PolygonZone subZone = new PolygonZone(new Point(0, 0), 4, 4);
+        DifferenceZone zone = new DifferenceZone(area, subZone);
+        assertFalse(zone.contains(0, 0));
+
+        zone.moveBy(10, 0);
+
+        assertFalse(zone.contains(10, 0));
+        assertTrue(zone.contains(5, 0));
+        assertEquals(10.0, subZone.getPosition().getX(), DELTA);
+    }
+
+    @Test
+    public void removedZoneCoversEverything_isEmpty() {
+        PolygonZone area = new PolygonZone(new Point(0, 0), 2, 2);
+        PolygonZone subZone = new PolygonZone(new Point(0, 0), 4, 4);
+        DifferenceZone zone = new DifferenceZone(area, subZone);
+
+        assertFalse(zone.contains(0, 0));
+        assertFalse(zone.isInside(subZone));
+    }
+
+    @Test
+    public void circleOperands_evaluatesBothZones() {
+        CircleZone area = new CircleZone(new Point(0, 0), 5);
+        CircleZone removed = new CircleZone(new Point(0, 0), 2);
+        DifferenceZone ring = new DifferenceZone(area, removed);
+
+        assertFalse(ring.contains(1, 0));
+        assertTrue(ring.contains(3, 0));
+        assertEquals(-1.0, ring.distanceToBoundary(3, 0), DELTA);
+        assertEquals(1.0, ring.distanceTo(1, 0), DELTA);
+    }
+
+    @Test
+    public void concavePolygon_clipsThroughConvexParts() {
+        PolygonZone lShape = new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 1),
+                new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+        PolygonZone corner = new PolygonZone(new Point(0, 0), 2, 2);
+        DifferenceZone zone = new DifferenceZone(lShape, corner);
+
+        assertFalse(zone.contains(0.5, 0.5));
+        assertTrue(zone.contains(3, 0.5));
+        assertTrue(zone.contains(0.5, 3));
+        assertFalse(zone.contains(3, 3));
+        // From inside the cut out corner, the nearest remaining area is the arm starting at x = 1
+        assertEquals(0.5, zone.distanceTo(0.5, 0.5), DELTA);
+    }
+
+    @Test
+    public void nearestBoundaryPoint_insideRing_findsHoleEdge() {
+        // Arrange
+        DifferenceZone zone = createAreaWithHole();
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        zone.nearestBoundaryPoint(3, 0.5, nearest);
+
+        // Assert: the hole's edge faces into the hole, which is outside the zone
+        assertEquals(2.0, nearest.getX(), DELTA);
+        assertEquals(0.5, nearest.getY(), DELTA);
+        assertEquals(-1.0, nearest.getNormalX(), DELTA);
+        assertEquals(0.0, nearest.getNormalY(), DELTA);
+        assertEquals(-1.0, nearest.getDistance(), DELTA);
+        assertEquals(-1, nearest.getEdgeIndex());
+    }
+
+    @Test
+    public void isInside_probeInHoleOfCircles_isConservative() {
+        // The cut out zone isn't a polygon, so the distance only measures to the outer circle
+        DifferenceZone ring = new DifferenceZone(new CircleZone(new Point(0, 0), 10),
+                new CompositeZone(new CircleZone(new Point(0, 0), 5)));
+        CircleZone probe = new CircleZone(new Point(0, 0), 1);
+
+        assertFalse(ring.contains(0, 0));
+        assertEquals(0.0, ring.distanceTo(probe), DELTA);
+        assertTrue(ring.isInside(probe));
+    }
+
+    @Test
+    public void getPosition_cachedUntilMoved() {
+        DifferenceZone zone = createAreaWithHole();
+
+        Point position = zone.getPosition();
+        assertSame(position, zone.getPosition());
+
+        zone.moveBy(1, 2);
+        Point moved = zone.getPosition();
+        assertNotSame(position, moved);
+        assertEquals(1.0, moved.getX(), DELTA);
+        assertEquals(2.0, moved.getY(), DELTA);
+    }
+}
@@ -0,0 +1,184 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class InflatedZoneTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * A 4x4 square centered at (0, 0), grown by 1 into a rounded square.
+     */
+    private Zone createRoundedSquare() {
+        return new PolygonZone(new Point(0, 0), 4, 4).inflate(1);
+    }
+
+    @Test
+    public void contains_pointNearEdge_isTrue() {
+        Zone rounded = createRoundedSquare();
+
+        assertTrue(rounded.contains(2.9, 0));
+        assertFalse(rounded.contains(3.1, 0));
+    }
+
+    @Test
+    public void contains_pointPastCorner_followsRoundedCorner() {
+        Zone rounded = createRoundedSquare();
+
+        // (2.6, 2.6) is within the grown bounding box but about 0.85 from the corner at (2, 2)
+        assertTrue(rounded.contains(2.6, 2.6));
+        // (2.8, 2.8) is about 1.13 from the corner
+        assertFalse(rounded.contains(2.8, 2.8));
+    }
+
+    @Test
+    public void distanceTo_pointOutside_isReducedByRadius() {
+        Zone rounded = createRoundedSquare();
+
+        assertEquals(2.0, rounded.distanceTo(5, 0), DELTA);
+        assertEquals(0.0, rounded.distanceTo(new Point(0, 0)), DELTA);
+    }
+
+    @Test
+    public void distanceToBoundary_pointInside_isNegative() {
+        Zone rounded = createRoundedSquare();
+
+        assertEquals(-3.0, rounded.distanceToBoundary(0, 0), DELTA);
+        assertEquals(Math.sqrt(2) * 3 - 1, rounded.distanceToBoundary(5, 5), DELTA);
+    }
+
+    @Test
+    public void distanceTo_zone_isReducedByRadius() {
+        Zone rounded = createRoundedSquare();
+        PolygonZone other = new PolygonZone(new Point(10, 0), 2, 2);
+
+        assertEquals(6.0, rounded.distanceTo(other), DELTA);
+        assertEquals(6.0, other.distanceTo(rounded), DELTA);
+        assertTrue(rounded.isInside(new CircleZone(new Point(3.5, 0), 0.6)));
+    }
+
+    @Test
+    public void isFullyInside_roomyContainer_isTrue() {
+        Zone rounded = createRoundedSquare();
+
+        assertTrue(rounded.isFullyInside(new PolygonZone(new Point(0, 0), 6.5, 6.5)));
+        assertTrue(rounded.isFullyInside(new CircleZone(new Point(0, 0), 4)));
+    }
+
+    @Test
+    public void isFullyInside_containerOnlyHoldsOriginal_isFalse() {
+        Zone rounded = createRoundedSquare();
+
+        assertFalse(rounded.isFullyInside(new PolygonZone(new Point(0, 0), 5, 5)));
+        assertFalse(rounded.isFullyInside(new CircleZone(new Point(0, 0), 3.5)));
+    }
+
+    @Test
+    public void getBoundingBox_isGrownByRadius() {
+        BoundingBox bounds = createRoundedSquare().getBoundingBox();
+
+        assertEquals(-3.0, bounds.getMinX(), DELTA);
+        assertEquals(3.0, bounds.getMaxY(), DELTA);
+    }
+
+    @Test
+    public void moveBy_movesOriginalZone() {
+        PolygonZone square = new PolygonZone(new Point(0, 0), 4, 4);
+        Zone rounded = square.inflate(1);
+
+        rounded.moveBy(10, 0);
+
+        assertEquals(10.0, square.getPosition().getX(), DELTA);
+        assertTrue(rounded.contains(12.9, 0));
+    }
+
+    @Test
+    public void inflate_circle_growsRadius() {
+        Zone grown = new CircleZone(new Point(0, 0), 2).inflate(1.5);
+
+        assertEquals(0.5, grown.distanceTo(4, 0), DELTA);
+        assertTrue(grown.contains(0, 3.4));
+    }
+
+    @Test
+    public void inflate_complexZone_growsEveryComponent() {
+        CompositeZone complex = new CompositeZone(
+                new PolygonZone(new Point(0, 0), 4, 4),
+                new CircleZone(new Point(10, 0), 2)
+        );
+
+        Zone grown = complex.inflate(1);
+
+        assertTrue(grown instanceof CompositeZone);
+        assertTrue(grown.contains(2.9, 0));
+        assertTrue(grown.contains(7.1, 0));
+        assertEquals(2.0, grown.distanceTo(5, 0), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void inflate_negativeRadius_throwsException() {
+        new CircleZone(new Point(0, 0), 2).inflate(-1);
+    }
+
+    @Test
+    public void nearestBoundaryPoint_stepsOutAlongNormal() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10));
+        Zone grown = square.inflate(1);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act & Assert
+        grown.nearestBoundaryPoint(5, -3, nearest);
+        assertEquals(5.0, nearest.getX(), DELTA);
+        assertEquals(-1.0, nearest.getY(), DELTA);
+        assertEquals(2.0, nearest.getDistance(), DELTA);
+        assertEquals(0, nearest.getEdgeIndex());
+
+        // Past a corner the grown boundary is rounded
+        grown.nearestBoundaryPoint(13, 14, nearest);
+        assertEquals(10.6, nearest.getX(), DELTA);
+        assertEquals(10.8, nearest.getY(), DELTA);
+        assertEquals(4.0, nearest.getDistance(), DELTA);
+    }
+
+    @Test
+    public void intersectsSegment_skimmingPastEdge_isFalse() {
+        // Arrange
+        Zone grown = new PolygonZone(new Point(0, 0), 4, 4).inflate(1);
+
+        // Act & Assert
+        assertFalse(grown.intersectsSegment(-10, 3 + 1e-5, 10, 3 + 1e-5));
+        assertEquals(-1.0, grown.raycast(-10, 3 + 1e-5, 0, 20), DELTA);
+        // Just inside the edge, the ray meets the rounded corner at a shallow angle
+        assertTrue(grown.intersectsSegment(-10, 3 - 1e-5, 10, 3 - 1e-5));
+        assertEquals(8 - Math.sqrt(1 - (1 - 1e-5) * (1 - 1e-5)), grown.raycast(-10, 3 - 1e-5, 0, 20), 1e-6);
+    }
+
+    @Test
+    public void getBoundingBox_nothingMoved_returnsCachedBox() {
+        InflatedZone grown = new InflatedZone(new PolygonZone(new Point(0, 0), 4, 2), 1);
+        BoundingBox bounds = grown.getBoundingBox();
+
+        assertSame(bounds, grown.getBoundingBox());
+    }
+
+    @Test
+    public void getBoundingBox_originalMoved_growsNewBox() {
+        PolygonZone original = new PolygonZone(new Point(0, 0), 4, 2);
+        InflatedZone grown = new InflatedZone(original, 1);
+        BoundingBox before = grown.getBoundingBox();
+
+        original.moveBy(5, 0);
+        BoundingBox after = grown.getBoundingBox();
+
+        assertNotSame(before, after);
+        assertEquals(2.0, after.getMinX(), DELTA);
+        assertEquals(8.0, after.getMaxX(), DELTA);
+        assertEquals(-2.0, after.getMinY(), DELTA);
+    }
+}
@@ -0,0 +1,146 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class IntersectionZoneTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * Two 4x4 squares overlapping in the 2x2 square from (0, 0) to (2, 2).
+     */
+    private IntersectionZone createOverlappingSquares() {
+        PolygonZone left = new PolygonZone(new Point(0, 0), 4, 4);
+        PolygonZone right = new PolygonZone(new Point(2, 2), 4, 4);
+        return new IntersectionZone(left, right);
+    }
+
+    @Test
+    public void contains_pointInBothZones_isTrue() {
+        IntersectionZone overlap = createOverlappingSquares();
+
+        assertTrue(overlap.contains(1, 1));
+        assertFalse(overlap.contains(-1, -1));
+        assertFalse(overlap.contains(3, 3));
+    }
+
+    @Test
+    public void distanceTo_pointOutside_measuresToOverlap() {
+        IntersectionZone overlap = createOverlappingSquares();
+
+        // The overlap spans (0, 0) to (2, 2), so (1, -1) is 1 below it even though it is inside the left square
+        assertEquals(1.0, overlap.distanceTo(1, -1), DELTA);
+        assertEquals(0.0, overlap.distanceTo(new Point(1, 1)), DELTA);
+    }
+
+    @Test
+    public void distanceToBoundary_pointInside_isNegative() {
+        IntersectionZone overlap = createOverlappingSquares();
+
+        assertEquals(-0.5, overlap.distanceToBoundary(1.5, 1), DELTA);
+    }
+
+    @Test
+    public void getBoundingBox_convexPolygons_coversOnlyOverlap() {
+        IntersectionZone overlap = createOverlappingSquares();
+
+        BoundingBox bounds = overlap.getBoundingBox();
+
+        assertEquals(0.0, bounds.getMinX(), DELTA);
+        assertEquals(0.0, bounds.getMinY(), DELTA);
+        assertEquals(2.0, bounds.getMaxX(), DELTA);
+        assertEquals(2.0, bounds.getMaxY(), DELTA);
+    }
+
+    @Test
+    public void operandMoved_queriesUseNewOverlap() {
+        PolygonZone left = new PolygonZone(new Point(0, 0), 4, 4);
+        PolygonZone right = new PolygonZone(new Point(2, 2), 4, 4);
+        IntersectionZone overlap = new IntersectionZone(left, right);
+        assertTrue(overlap.contains(1, 1));
+
+        right.moveBy(-1, -1);
+
+        assertTrue(overlap.contains(-0.5, -0.5));
+        assertEquals(-1.0, overlap.getBoundingBox().getMinX(), DELTA);
+    }
+
+    @Test
+    public void disjointZones_isEmpty() {
+        PolygonZone left = new PolygonZone(new Point(0, 0), 2, 2);
+        PolygonZone right = new PolygonZone(new Point(10, 0), 2, 2);
+        IntersectionZone overlap = new IntersectionZone(left, right);
+
+        assertFalse(overlap.contains(0, 0));
+        assertFalse(overlap.isInside(left));
+    }
+
+    @Test
+    public void circleOperands_evaluatesBothZones() {
+        CircleZone first = new CircleZone(new Point(0, 0), 2);
+        CircleZone second = new CircleZone(new Point(3, 0), 2);
+        IntersectionZone lens = new IntersectionZone(first, second);
+
+        assertTrue(lens.contains(1.5, 0));
+        assertFalse(lens.contains(0, 0));
+        // The lens spans x = 1 to 2 along the center line
+        assertEquals(-0.5, lens.distanceToBoundary(1.5, 0), DELTA);
+        assertEquals(0.0, lens.distanceTo(new CircleZone(new Point(1.5, 3), 2)), DELTA);
+    }
+
+    @Test
+    public void raycast_circleOperand_tracesToOverlap() {
+        IntersectionZone overlap = new IntersectionZone(
+                new CircleZone(new Point(0, 0), 2),
+                new PolygonZone(new Point(2, 0), 2, 2)
+        );
+
+        // The overlap starts at x = 1, where the square's left edge is
+        assertEquals(6.0, overlap.raycast(-5, 0, 0, 20), 1e-6);
+        assertTrue(overlap.intersectsSegment(-5, 0, 1.5, 0));
+        assertFalse(overlap.intersectsSegment(-5, 0, 0.5, 0));
+    }
+
+    @Test
+    public void raycast_skimmingPastEdge_misses() {
+        PolygonZone box = new PolygonZone(new Point(0, 0), 4, 4);
+        IntersectionZone overlap = new IntersectionZone(box, new CircleZone(new Point(0, 0), 10));
+
+        // The ray runs just above the top edge, so the trace takes tiny steps without ever reaching it
+        assertEquals(-1.0, box.raycast(-10, 2 + 1e-5, 0, 20), DELTA);
+        assertEquals(-1.0, overlap.raycast(-10, 2 + 1e-5, 0, 20), DELTA);
+        assertFalse(overlap.intersectsSegment(-10, 2 + 1e-5, 10, 2 + 1e-5));
+    }
+
+    @Test
+    public void isInside_disjointCircles_isConservative() {
+        // The circles don't overlap, but only the distance to the farther one is known
+        IntersectionZone empty = new IntersectionZone(new CircleZone(new Point(-3, 0), 2), new CircleZone(new Point(3, 0), 2));
+        CircleZone probe = new CircleZone(new Point(0, 0), 1.5);
+
+        assertFalse(empty.contains(0, 0));
+        assertEquals(0.0, empty.distanceTo(probe), DELTA);
+        assertTrue(empty.isInside(probe));
+    }
+
+    @Test
+    public void distanceToBoundary_clippedOverlap_matchesOperandsInside() {
+        PolygonZone left = new PolygonZone(new Point(0, 0), 4, 4);
+        PolygonZone right = new PolygonZone(new Point(2, 2), 4, 4, Math.PI / 6);
+        IntersectionZone overlap = new IntersectionZone(left, right);
+
+        for (double x = -3; x <= 5; x += 0.25) {
+            for (double y = -3; y <= 5; y += 0.25) {
+                double fromOperands = Math.max(left.distanceToBoundary(x, y), right.distanceToBoundary(x, y));
+                if (fromOperands <= 0) {
+                    assertEquals(fromOperands, overlap.distanceToBoundary(x, y), 1e-9);
+                } else {
+                    assertEquals(overlap.distanceTo(x, y), overlap.distanceToBoundary(x, y), 1e-9);
+                }
+            }
+        }
+    }
+}
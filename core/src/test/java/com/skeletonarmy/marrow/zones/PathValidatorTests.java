@@ -0,0 +1,108 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class PathValidatorTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * A straight path along y = height from x = 0 to x = 20, with a point every 1.
+     */
+    private Point[] createHorizontalPath(double height) {
+        Point[] path = new Point[21];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = new Point(i, height);
+        }
+        return path;
+    }
+
+    @Test
+    public void validate_pathsThroughAndPastZone_reportsFirstViolation() {
+        // Arrange
+        PolygonZone obstacle = new PolygonZone(new Point(10, 0), 4, 4);
+        CircleZone pillar = new CircleZone(new Point(15, 5), 1);
+        PathValidator validator = new PathValidator(obstacle, pillar);
+        List<Point[]> paths = Arrays.asList(createHorizontalPath(0), createHorizontalPath(10), createHorizontalPath(5));
+
+        // Act
+        PathValidator.Violation[] violations = validator.validate(paths);
+
+        // Assert
+        assertEquals(3, violations.length);
+        assertEquals(0, violations[0].getPathIndex());
+        assertEquals(8, violations[0].getPointIndex());
+        assertSame(obstacle, violations[0].getZone());
+        assertNull(violations[1]);
+        assertEquals(14, violations[2].getPointIndex());
+        assertSame(pillar, violations[2].getZone());
+    }
+
+    @Test
+    public void validate_withClearance_rejectsPointsTooClose() {
+        // Arrange
+        PolygonZone obstacle = new PolygonZone(new Point(10, 0), 4, 4);
+        PathValidator validator = new PathValidator(1.5, obstacle);
+
+        // Act
+        PathValidator.Violation violation = validator.findViolation(createHorizontalPath(3));
+
+        // Assert: (7, 3) is about 1.41 from the corner at (8, 2)
+        assertEquals(7, violation.getPointIndex());
+        assertEquals(3.0, violation.getPoint().getY(), DELTA);
+        assertNull(validator.findViolation(createHorizontalPath(3.5)));
+    }
+
+    @Test
+    public void validate_zoneMovedAfterwards_usesZoneAsItWas() {
+        // Arrange
+        PolygonZone obstacle = new PolygonZone(new Point(10, 0), 4, 4);
+        PathValidator validator = new PathValidator(obstacle);
+
+        // Act
+        obstacle.moveBy(0, 50);
+
+        // Assert
+        assertEquals(8, validator.findViolation(createHorizontalPath(0)).getPointIndex());
+    }
+
+    @Test
+    public void validate_manyPaths_matchesSingleThreadedChecks() {
+        // Arrange
+        Zone zones = new CompositeZone(
+                new PolygonZone(new Point(5, 5), new Point(9, 5), new Point(9, 6), new Point(6, 6), new Point(6, 9), new Point(5, 9)),
+                new CircleZone(new Point(14, 3), 2)
+        );
+        PathValidator validator = new PathValidator(0.25, zones);
+        List<Point[]> paths = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            paths.add(createHorizontalPath(i * 0.1));
+        }
+
+        // Act
+        PathValidator.Violation[] violations = validator.validate(paths, new ForkJoinPool(4));
+
+        // Assert
+        for (int i = 0; i < paths.size(); i++) {
+            int expected = -1;
+            Point[] path = paths.get(i);
+            for (int j = 0; j < path.length && expected < 0; j++) {
+                if (zones.distanceTo(path[j]) < 0.25) expected = j;
+            }
+            assertEquals(expected, violations[i] == null ? -1 : violations[i].getPointIndex());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeClearance_throwsException() {
+        new PathValidator(-1, new CircleZone(new Point(0, 0), 1));
+    }
+}
@@ -0,0 +1,101 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PolygonSimplifierTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * A 10x10 square traced with a corner every 0.5 along each side,
+     * and every other corner pushed out by a wobble.
+     */
+    private Point[] createTracedSquare(double wobble) {
+        List<Point> corners = new ArrayList<>();
+        double[][] sides = { { 0, 0, 1, 0 }, { 10, 0, 0, 1 }, { 10, 10, -1, 0 }, { 0, 10, 0, -1 } };
+        for (double[] side : sides) {
+            for (int i = 0; i < 20; i++) {
+                double offset = (i % 2 == 1) ? wobble : 0.0;
+                // The outward normal of each side is its direction turned clockwise
+                corners.add(new Point(side[0] + side[2] * i * 0.5 + side[3] * offset, side[1] + side[3] * i * 0.5 - side[2] * offset));
+            }
+        }
+        return corners.toArray(new Point[0]);
+    }
+
+    @Test
+    public void simplify_wobblyTracedSquare_keepsFourCorners() {
+        // Act
+        PolygonSimplifier.Result result = PolygonSimplifier.simplify(0.1, createTracedSquare(0.05));
+
+        // Assert
+        assertEquals(4, result.getPolygon().getCornerCount());
+        assertEquals(76, result.getRemovedCorners());
+        assertEquals(0.05, result.getMaxDeviation(), DELTA);
+        assertTrue(result.getPolygon().contains(9.9, 9.9));
+    }
+
+    @Test
+    public void simplify_wobbleAboveTolerance_keepsWobble() {
+        // Act
+        PolygonSimplifier.Result result = PolygonSimplifier.simplify(0.1, createTracedSquare(0.2));
+
+        // Assert
+        assertTrue(result.getPolygon().getCornerCount() > 4);
+        assertTrue(result.getMaxDeviation() <= 0.1);
+    }
+
+    @Test
+    public void simplify_deviation_boundsDistanceChange() {
+        // Arrange
+        Point[] traced = createTracedSquare(0.05);
+        PolygonZone original = new PolygonZone(traced);
+
+        // Act
+        PolygonSimplifier.Result result = PolygonSimplifier.simplify(original, 0.1);
+
+        // Assert
+        for (double x = -3; x <= 13; x += 0.37) {
+            for (double y = -3; y <= 13; y += 0.41) {
+                double change = Math.abs(original.distanceToBoundary(x, y) - result.getPolygon().distanceToBoundary(x, y));
+                assertTrue(change <= result.getMaxDeviation() + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void simplify_zeroTolerance_onlyDropsStraightCorners() {
+        // Act
+        PolygonSimplifier.Result result = PolygonSimplifier.simplify(0, createTracedSquare(0));
+
+        // Assert
+        assertEquals(4, result.getPolygon().getCornerCount());
+        assertEquals(0.0, result.getMaxDeviation(), DELTA);
+    }
+
+    @Test
+    public void simplify_narrowNotch_doesNotCrossItself() {
+        // Arrange: a square with a deep notch only 0.2 wide cut into its top
+        Point[] notched = {
+                new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(5.1, 10),
+                new Point(5.1, 1), new Point(4.9, 1), new Point(4.9, 10), new Point(0, 10)
+        };
+
+        // Act
+        PolygonSimplifier.Result result = PolygonSimplifier.simplify(0.5, notched);
+
+        // Assert
+        assertNotNull(result.getPolygon().getConvexParts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void simplify_negativeTolerance_throwsException() {
+        PolygonSimplifier.simplify(-1, createTracedSquare(0));
+    }
+}
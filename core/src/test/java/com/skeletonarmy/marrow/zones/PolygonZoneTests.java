@@ -2,6 +2,9 @@ package com.skeletonarmy.marrow.zones;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
@@ -204,6 +207,46 @@ public class PolygonZoneTests {
         assertEquals(5.0, distance, DELTA);
     }
 
+    @Test
+    public void distanceToZone_convexPairWithOppositeWinding_returnsCorrectDistance() {
+        // Arrange
+        PolygonZone counterClockwise = new PolygonZone(new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(0, 4));
+        PolygonZone clockwise = new PolygonZone(new Point(7, 8), new Point(9, 6), new Point(7, 6));
+
+        // Act
+        // Closest points are the corner (4, 4) and the corner (7, 6): sqrt(3^2 + 2^2)
+        double distance = counterClockwise.distanceTo(clockwise);
+
+        // Assert
+        assertEquals(Math.sqrt(13), distance, DELTA);
+        assertEquals(Math.sqrt(13), clockwise.distanceTo(counterClockwise), DELTA);
+    }
+
+    @Test
+    public void distanceToZone_rotatedConvexPairWithOverlappingBounds_returnsEdgeDistance() {
+        // Arrange
+        PolygonZone diamond = new PolygonZone(new Point(0, 0), 4, 4, Math.PI / 4);
+        PolygonZone bar = new PolygonZone(new Point(3, 3), 6, 1, -Math.PI / 4);
+
+        // Act
+        // The bar runs parallel to the diamond's upper right edge, which is 2 from the diamond's center.
+        // The bar's near side is 3 * sqrt(2) - 0.5 from that center.
+        double distance = diamond.distanceTo(bar);
+
+        // Assert
+        assertEquals(3 * Math.sqrt(2) - 0.5 - 2, distance, DELTA);
+    }
+
+    @Test
+    public void distanceToZone_touchingConvexPair_returnsZero() {
+        // Arrange
+        PolygonZone left = new PolygonZone(new Point(0, 0), 2, 2);
+        PolygonZone right = new PolygonZone(new Point(2, 1), 2, 2);
+
+        // Assert
+        assertEquals(0.0, left.distanceTo(right), DELTA);
+    }
+
     // --- Tests for isInside(Zone) / isFullyInside(Zone) ---
 
     @Test
@@ -1140,4 +1183,591 @@ public class PolygonZoneTests {
         // Should still work correctly
         assertEquals(1e-10, zone.getRotation(), DELTA);
     }
+
+    // --- Tests for coordinate overloads ---
+
+    @Test
+    public void containsCoordinates_matchesPointOverload() {
+        PolygonZone square = createUnitSquareZone();
+
+        assertTrue(square.contains(0, 0));
+        assertTrue(square.contains(2, 1));
+        assertFalse(square.contains(3, 0));
+        assertEquals(square.contains(new Point(1.5, -1.5)), square.contains(1.5, -1.5));
+    }
+
+    @Test
+    public void distanceCoordinates_matchesPointOverload() {
+        PolygonZone square = createUnitSquareZone();
+
+        assertEquals(3.0, square.distanceTo(5, 0), DELTA);
+        assertEquals(0.0, square.distanceTo(0, 0), DELTA);
+        assertEquals(Math.sqrt(2), square.distanceTo(3, 3), DELTA);
+        assertEquals(square.distanceToBoundary(new Point(0.5, 0)), square.distanceToBoundary(0.5, 0), DELTA);
+    }
+
+    // --- Tests for getBoundingBox() ---
+
+    @Test
+    public void getBoundingBox_followsMovedAndRotatedPolygon() {
+        PolygonZone rectangle = new PolygonZone(new Point(0, 0), 4, 2);
+
+        rectangle.moveBy(1, 1);
+        BoundingBox moved = rectangle.getBoundingBox();
+        assertEquals(-1.0, moved.getMinX(), DELTA);
+        assertEquals(3.0, moved.getMaxX(), DELTA);
+        assertEquals(0.0, moved.getMinY(), DELTA);
+        assertEquals(2.0, moved.getMaxY(), DELTA);
+
+        rectangle.rotateByDegrees(90);
+        BoundingBox rotated = rectangle.getBoundingBox();
+        assertEquals(0.0, rotated.getMinX(), DELTA);
+        assertEquals(2.0, rotated.getMaxX(), DELTA);
+        assertEquals(-1.0, rotated.getMinY(), DELTA);
+        assertEquals(3.0, rotated.getMaxY(), DELTA);
+    }
+
+    // --- Tests for convexity ---
+
+    /**
+     * Creates an L-shaped concave polygon.
+     * Vertices: (0, 0), (4, 0), (4, 1), (1, 1), (1, 4), (0, 4).
+     */
+    private PolygonZone createLShapeZone() {
+        return new PolygonZone(
+                new Point(0, 0),
+                new Point(4, 0),
+                new Point(4, 1),
+                new Point(1, 1),
+                new Point(1, 4),
+                new Point(0, 4)
+        );
+    }
+
+    @Test
+    public void isConvex_squareAndTriangle_returnsTrue() {
+        assertTrue(createUnitSquareZone().isConvex());
+        assertTrue(createSimpleTriangleZone().isConvex());
+        assertTrue(new PolygonZone(new Point(1, 1), 4, 2, Math.PI / 6).isConvex());
+    }
+
+    @Test
+    public void isConvex_lShape_returnsFalse() {
+        assertFalse(createLShapeZone().isConvex());
+    }
+
+    @Test
+    public void isConvex_selfIntersectingPentagram_returnsFalse() {
+        Point[] star = new Point[5];
+        for (int i = 0; i < 5; i++) {
+            double angle = Math.PI / 2 + i * 4 * Math.PI / 5;
+            star[i] = new Point(Math.cos(angle), Math.sin(angle));
+        }
+
+        assertFalse(new PolygonZone(star).isConvex());
+    }
+
+    @Test
+    public void isInside_rotatedConvexPolygonsWithOverlappingBoxesButNoOverlap_returnsFalse() {
+        // Two diamonds whose bounding boxes overlap at the corner but whose edges stay apart
+        PolygonZone diamond1 = new PolygonZone(new Point(0, 0), 2, 2, Math.PI / 4);
+        PolygonZone diamond2 = new PolygonZone(new Point(2.2, 2.2), 2, 2, Math.PI / 4);
+
+        assertFalse(diamond1.isInside(diamond2));
+        // Facing edges are each 1 unit from their centers along the diagonal
+        assertEquals(Math.hypot(2.2, 2.2) - 2.0, diamond1.distanceTo(diamond2), DELTA);
+    }
+
+    @Test
+    public void distanceToZone_concaveAndConvexPolygons_isCorrect() {
+        PolygonZone lShape = createLShapeZone();
+        PolygonZone square = new PolygonZone(new Point(3, 3), 2, 2);
+
+        // The square sits in the notch of the L, 1 unit away from the inner corner
+        assertEquals(0.0, lShape.distanceTo(new PolygonZone(new Point(2, 0.5), 1, 1)), DELTA);
+        assertEquals(1.0, lShape.distanceTo(square), DELTA);
+    }
+
+    @Test
+    public void getConvexParts_lShape_coversShapeWithConvexParts() {
+        PolygonZone lShape = createLShapeZone();
+
+        PolygonZone[] parts = lShape.getConvexParts();
+
+        assertEquals(2, parts.length);
+        double area = 0.0;
+        for (PolygonZone part : parts) {
+            assertTrue(part.isConvex());
+            for (int i = 0; i < part.getCornerCount(); i++) {
+                int next = (i + 1) % part.getCornerCount();
+                area += (part.getCornerX(i) * part.getCornerY(next) - part.getCornerX(next) * part.getCornerY(i)) / 2.0;
+            }
+        }
+        // Together the parts make up the L's area of 7
+        assertEquals(7.0, Math.abs(area), DELTA);
+    }
+
+    @Test
+    public void getConvexParts_afterMove_followsPolygon() {
+        PolygonZone lShape = createLShapeZone();
+
+        lShape.moveBy(10, 0);
+        lShape.rotateByDegrees(90);
+
+        for (PolygonZone part : lShape.getConvexParts()) {
+            BoundingBox bounds = part.getBoundingBox();
+            assertTrue(lShape.getBoundingBox().contains(bounds, 1e-9));
+        }
+    }
+
+    @Test
+    public void getConvexParts_crossedOutlineWithMatchingArea_returnsNull() {
+        // The edge from (0, 0) to (2, 7) crosses the edge from (5, 6) to (0, 7), yet ear clipping finds
+        // parts whose areas add up to the outline's, so only a crossing check catches it
+        PolygonZone crossed = new PolygonZone(
+                new Point(7, 3), new Point(5, 6), new Point(0, 7), new Point(0, 0), new Point(2, 7)
+        );
+
+        assertNull(crossed.getConvexParts());
+    }
+
+    @Test
+    public void distanceToZone_twoConcavePolygons_isCorrect() {
+        PolygonZone lShape = createLShapeZone();
+        // The same L turned around so its arms wrap the first one's notch without touching
+        PolygonZone turned = new PolygonZone(
+                new Point(5, 5), new Point(1.5, 5), new Point(1.5, 4),
+                new Point(4, 4), new Point(4, 1.5), new Point(5, 1.5)
+        );
+
+        // The closest features are the first L's arm tip at (4, 1) and the second L's corner at (4, 1.5)
+        assertEquals(0.5, lShape.distanceTo(turned), DELTA);
+        assertEquals(0.5, turned.distanceTo(lShape), DELTA);
+    }
+
+    @Test
+    public void isFullyInside_concaveContainerWithEdgeAcrossNotch_returnsFalse() {
+        PolygonZone lShape = createLShapeZone();
+        // Every corner is inside the L, but the long edge cuts across the empty notch
+        PolygonZone triangle = new PolygonZone(new Point(0.5, 3.5), new Point(3.5, 0.5), new Point(0.5, 0.5));
+        PolygonZone small = new PolygonZone(new Point(0.5, 0.5), 0.5, 0.5);
+
+        assertFalse(triangle.isFullyInside(lShape));
+        assertTrue(small.isFullyInside(lShape));
+    }
+
+    @Test
+    public void isFullyInside_circleInConcavePolygon_checksNearestEdge() {
+        PolygonZone lShape = createLShapeZone();
+
+        assertTrue(new CircleZone(new Point(0.5, 2), 0.5).isFullyInside(lShape));
+        // The center is inside, but the circle pokes into the notch past the inner corner
+        assertFalse(new CircleZone(new Point(0.9, 0.9), 0.5).isFullyInside(lShape));
+    }
+
+    @Test
+    public void contains_afterRotation_usesRotatedEdges() {
+        PolygonZone rectangle = new PolygonZone(new Point(0, 0), 8, 2);
+        assertTrue(rectangle.contains(3, 0));
+        assertFalse(rectangle.contains(0, 3));
+
+        rectangle.rotateByDegrees(90);
+
+        assertFalse(rectangle.contains(3, 0));
+        assertTrue(rectangle.contains(0, 3));
+        assertEquals(-1.0, rectangle.distanceToBoundary(0, 3), DELTA);
+    }
+
+    // --- Tests for batch queries ---
+
+    @Test
+    public void containsAll_mixedPoints_matchesSingleQueries() {
+        PolygonZone triangle = createSimpleTriangleZone();
+        double[] xs = { 2, 0, 5, 2, 4 };
+        double[] ys = { 1, 0, 0, 3.5, 0 };
+        boolean[] out = new boolean[xs.length];
+
+        triangle.containsAll(xs, ys, out);
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(triangle.contains(xs[i], ys[i]), out[i]);
+        }
+        assertTrue(out[0]);
+        assertFalse(out[2]);
+    }
+
+    @Test
+    public void distanceToAll_mixedPoints_matchesSingleQueries() {
+        PolygonZone square = createUnitSquareZone();
+        double[] xs = { 0, 5, 3, -2 };
+        double[] ys = { 0, 0, 3, 1 };
+        double[] out = new double[xs.length];
+
+        square.distanceToAll(xs, ys, out);
+
+        assertEquals(0.0, out[0], DELTA);
+        assertEquals(3.0, out[1], DELTA);
+        assertEquals(Math.sqrt(2), out[2], DELTA);
+        assertEquals(0.0, out[3], DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void containsAll_mismatchedArrays_throwsException() {
+        createUnitSquareZone().containsAll(new double[3], new double[2], new boolean[3]);
+    }
+
+    // --- Tests for setPose() ---
+
+    @Test
+    public void setPose_movesAndRotatesRectangle() {
+        PolygonZone footprint = new PolygonZone(new Point(0, 0), 4, 2);
+
+        footprint.setPose(10, 5, Math.PI / 2);
+
+        assertEquals(10.0, footprint.getPosition().getX(), DELTA);
+        assertEquals(5.0, footprint.getPosition().getY(), DELTA);
+        assertEquals(Math.PI / 2, footprint.getRotation(), DELTA);
+        assertTrue(footprint.contains(10, 6.9));
+        assertFalse(footprint.contains(11.9, 5));
+    }
+
+    @Test
+    public void rotateBy_manySmallSteps_doesNotDrift() {
+        PolygonZone zone = createUnitSquareZone();
+        Point[] originalCorners = zone.getCorners();
+
+        for (int i = 0; i < 3600; i++) {
+            zone.rotateByDegrees(0.1);
+            zone.moveBy(0.5, -0.25);
+        }
+        zone.setPosition(0, 0);
+
+        Point[] newCorners = zone.getCorners();
+        for (int i = 0; i < originalCorners.length; i++) {
+            assertEquals(originalCorners[i].getX(), newCorners[i].getX(), 1e-9);
+            assertEquals(originalCorners[i].getY(), newCorners[i].getY(), 1e-9);
+        }
+    }
+
+    // --- Tests for setDistanceCaching() ---
+
+    @Test
+    public void distanceCaching_pathAcrossConcavePolygon_matchesUncached() {
+        // Arrange
+        Point[] outline = {
+                new Point(0, 0), new Point(10, 0), new Point(10, 10),
+                new Point(6, 10), new Point(6, 4), new Point(4, 4), new Point(4, 10), new Point(0, 10)
+        };
+        PolygonZone cached = new PolygonZone(outline);
+        PolygonZone uncached = new PolygonZone(outline);
+        cached.setDistanceCaching(true);
+
+        // Act & Assert
+        for (int step = 0; step <= 400; step++) {
+            double x = -3 + step * 0.04;
+            double y = 5 + 6 * Math.sin(step * 0.05);
+            assertEquals(uncached.distanceTo(x, y), cached.distanceTo(x, y), 1e-9);
+            assertEquals(uncached.distanceToBoundary(x, y), cached.distanceToBoundary(x, y), 1e-9);
+        }
+    }
+
+    @Test
+    public void distanceCaching_polygonMovedBetweenQueries_staysCorrect() {
+        // Arrange
+        PolygonZone zone = new PolygonZone(new Point(0, 0), 4, 2);
+        zone.setDistanceCaching(true);
+        assertEquals(-1.0, zone.distanceToBoundary(0, 0), DELTA);
+
+        // Act
+        zone.setPose(5, 0, Math.PI / 2);
+
+        // Assert
+        assertEquals(4.0, zone.distanceTo(0, 0), DELTA);
+        assertEquals(-0.1, zone.distanceToBoundary(5.9, 0.1), DELTA);
+    }
+
+    // --- Tests for minkowskiSum() ---
+
+    @Test
+    public void minkowskiSum_twoSquares_addsSizesAndPositions() {
+        // Arrange
+        PolygonZone obstacle = new PolygonZone(new Point(5, 0), 2, 2);
+        PolygonZone footprint = new PolygonZone(new Point(0, 0), 4, 2);
+
+        // Act
+        Zone sum = obstacle.minkowskiSum(footprint);
+
+        // Assert
+        assertTrue(sum instanceof PolygonZone);
+        assertEquals(4, ((PolygonZone) sum).getCornerCount());
+        BoundingBox bounds = sum.getBoundingBox();
+        assertEquals(2.0, bounds.getMinX(), DELTA);
+        assertEquals(8.0, bounds.getMaxX(), DELTA);
+        assertEquals(-2.0, bounds.getMinY(), DELTA);
+        assertEquals(2.0, bounds.getMaxY(), DELTA);
+    }
+
+    @Test
+    public void minkowskiSum_footprintCenter_matchesFootprintOverlap() {
+        // Arrange
+        PolygonZone obstacle = new PolygonZone(new Point(0, 0), new Point(4, 0), new Point(0, 3));
+        PolygonZone footprint = new PolygonZone(new Point(0, 0), 2, 1, 0.3);
+        PolygonZone turned = new PolygonZone(new Point(0, 0), 2, 1, 0.3 + Math.PI);
+        Zone sum = obstacle.minkowskiSum(turned);
+
+        // Act & Assert
+        for (double x = -3; x <= 7; x += 0.5) {
+            for (double y = -3; y <= 6; y += 0.5) {
+                footprint.setPosition(x, y);
+                assertEquals(obstacle.distanceTo(footprint), sum.distanceTo(x, y), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void minkowskiSum_concavePolygon_sumsEveryPart() {
+        // Arrange
+        PolygonZone lShape = new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 1), new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+        PolygonZone square = new PolygonZone(new Point(0, 0), 1, 1);
+
+        // Act
+        Zone sum = lShape.minkowskiSum(square);
+
+        // Assert
+        assertTrue(sum instanceof CompositeZone);
+        assertTrue(sum.contains(4.4, 1.4));
+        assertFalse(sum.contains(2, 2));
+        assertEquals(0.5, sum.distanceTo(2, 2.5), DELTA);
+    }
+
+    // --- Tests for raycast() and intersectsSegment() ---
+
+    @Test
+    public void raycast_towardRotatedSquare_hitsNearestEdge() {
+        // Arrange
+        PolygonZone diamond = new PolygonZone(new Point(10, 0), 2, 2, Math.PI / 4);
+
+        // Act
+        double distance = diamond.raycast(0, 0, 0, 20);
+
+        // Assert
+        assertEquals(10 - Math.sqrt(2), distance, DELTA);
+    }
+
+    @Test
+    public void raycast_intoConcaveNotch_passesThroughGap() {
+        // Arrange: a U shape open at the top, with the gap between x = 1 and x = 3
+        PolygonZone cup = new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(3, 4),
+                new Point(3, 1), new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+
+        // Act & Assert
+        assertEquals(4.0, cup.raycast(2, 5, -Math.PI / 2, 10), DELTA);
+        assertEquals(1.0, cup.raycast(-1, 3, 0, 10), DELTA);
+        assertEquals(0.0, cup.raycast(0.5, 0.5, 0, 10), DELTA);
+        assertEquals(-1.0, cup.raycast(2, 5, Math.PI / 2, 10), DELTA);
+    }
+
+    @Test
+    public void raycast_unboundedMiss_returnsNegative() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), 2, 2);
+
+        // Act & Assert
+        assertEquals(-1.0, square.raycast(5, 5, 0, Double.POSITIVE_INFINITY), DELTA);
+        assertEquals(-1.0, square.raycast(5, 5, 0, Double.MAX_VALUE), DELTA);
+        assertEquals(4.0, square.raycast(5, 0, Math.PI, Double.POSITIVE_INFINITY), DELTA);
+    }
+
+    @Test
+    public void intersectsSegment_acrossConcaveNotch_isCorrect() {
+        // Arrange
+        PolygonZone cup = new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(3, 4),
+                new Point(3, 1), new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+
+        // Act & Assert
+        assertFalse(cup.intersectsSegment(2, 5, 2, 1.5));
+        assertTrue(cup.intersectsSegment(2, 5, 2, 0.5));
+        assertTrue(cup.intersectsSegment(-1, 3, 5, 3));
+        assertTrue(cup.intersectsSegment(new Point(0.2, 0.2), new Point(0.5, 0.5)));
+        assertFalse(cup.intersectsSegment(5, 0, 5, 4));
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointOutside_reportsEdgeAndNormal() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10));
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        square.nearestBoundaryPoint(5, -3, nearest);
+
+        // Assert
+        assertEquals(5.0, nearest.getX(), DELTA);
+        assertEquals(0.0, nearest.getY(), DELTA);
+        assertEquals(0.0, nearest.getNormalX(), DELTA);
+        assertEquals(-1.0, nearest.getNormalY(), DELTA);
+        assertEquals(3.0, nearest.getDistance(), DELTA);
+        assertEquals(0, nearest.getEdgeIndex());
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pointInside_normalPointsOut() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10));
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        square.nearestBoundaryPoint(9, 5, nearest);
+
+        // Assert
+        assertEquals(10.0, nearest.getX(), DELTA);
+        assertEquals(5.0, nearest.getY(), DELTA);
+        assertEquals(1.0, nearest.getNormalX(), DELTA);
+        assertEquals(0.0, nearest.getNormalY(), DELTA);
+        assertEquals(-1.0, nearest.getDistance(), DELTA);
+        assertEquals(1, nearest.getEdgeIndex());
+    }
+
+    @Test
+    public void nearestBoundaryPoint_onClockwiseEdge_normalPointsOut() {
+        // Arrange: the same square with its corners in clockwise order
+        PolygonZone square = new PolygonZone(new Point(0, 0), new Point(0, 10), new Point(10, 10), new Point(10, 0));
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        square.nearestBoundaryPoint(10, 5, nearest);
+
+        // Assert
+        assertEquals(1.0, nearest.getNormalX(), DELTA);
+        assertEquals(0.0, nearest.getNormalY(), DELTA);
+        assertEquals(0.0, nearest.getDistance(), DELTA);
+        assertEquals(2, nearest.getEdgeIndex());
+    }
+
+    @Test
+    public void nearestBoundaryPoint_rotatedPolygon_isInFieldFrame() {
+        // Arrange: a 4x2 box turned a quarter turn, so it spans x from -1 to 1 and y from -2 to 2
+        PolygonZone box = new PolygonZone(new Point(0, 0), 4, 2);
+        box.setRotation(Math.PI / 2);
+        NearestPoint nearest = new NearestPoint();
+
+        // Act & Assert
+        box.nearestBoundaryPoint(3, 0.5, nearest);
+        assertEquals(1.0, nearest.getX(), DELTA);
+        assertEquals(0.5, nearest.getY(), DELTA);
+        assertEquals(1.0, nearest.getNormalX(), DELTA);
+        assertEquals(0.0, nearest.getNormalY(), DELTA);
+        assertEquals(2.0, nearest.getDistance(), DELTA);
+
+        box.nearestBoundaryPoint(0, 5, nearest);
+        assertEquals(0.0, nearest.getX(), DELTA);
+        assertEquals(2.0, nearest.getY(), DELTA);
+        assertEquals(0.0, nearest.getNormalX(), DELTA);
+        assertEquals(1.0, nearest.getNormalY(), DELTA);
+        assertEquals(3.0, nearest.getDistance(), DELTA);
+    }
+
+    @Test
+    public void nearestBoundaryPoint_pastCorner_normalPointsAwayFromCorner() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10));
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        square.nearestBoundaryPoint(13, 14, nearest);
+
+        // Assert
+        assertEquals(10.0, nearest.getX(), DELTA);
+        assertEquals(10.0, nearest.getY(), DELTA);
+        assertEquals(0.6, nearest.getNormalX(), DELTA);
+        assertEquals(0.8, nearest.getNormalY(), DELTA);
+        assertEquals(5.0, nearest.getDistance(), DELTA);
+    }
+
+    @Test
+    public void getConvexParts_denseStarOutline_isSplit() {
+        // Arrange: a 2000 corner star whose every other corner is pulled in, so half the corners are reflex
+        Point[] corners = new Point[2000];
+        for (int i = 0; i < corners.length; i++) {
+            double radius = (i % 2 == 0) ? 10 : 7;
+            double angle = 2 * Math.PI * i / corners.length;
+            corners[i] = new Point(radius * Math.cos(angle), radius * Math.sin(angle));
+        }
+        PolygonZone star = new PolygonZone(corners);
+
+        // Act
+        PolygonZone[] parts = star.getConvexParts();
+
+        // Assert
+        assertNotNull(parts);
+        assertTrue(star.contains(0, 0));
+        assertEquals(0.0, star.distanceTo(new CircleZone(new Point(0, 0), 1)), DELTA);
+        assertEquals(1.0, star.distanceTo(new CircleZone(new Point(12, 0), 1)), DELTA);
+    }
+
+    @Test
+    public void getCorner_triangle_returnsCornersInOrder() {
+        // Arrange
+        PolygonZone triangle = new PolygonZone(new Point(0, 0), new Point(4, 0), new Point(0, 3));
+
+        // Act & Assert
+        assertEquals(3, triangle.getCornerCount());
+        assertEquals(0.0, triangle.getCornerX(0), DELTA);
+        assertEquals(4.0, triangle.getCornerX(1), DELTA);
+        assertEquals(0.0, triangle.getCornerY(1), DELTA);
+        assertEquals(3.0, triangle.getCornerY(2), DELTA);
+    }
+
+    @Test
+    public void getCorner_afterMoveAndRotate_followsPolygon() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), 2, 2);
+
+        // Act
+        square.moveBy(10, 5);
+        square.rotateByDegrees(90);
+
+        // Assert: the first corner starts at (-1, -1) relative to the center and turns to (1, -1)
+        assertEquals(4, square.getCornerCount());
+        assertEquals(11.0, square.getCornerX(0), DELTA);
+        assertEquals(4.0, square.getCornerY(0), DELTA);
+    }
+
+    @Test
+    public void constructor_callerChangesPointArray_polygonKeepsItsCorners() {
+        // Arrange
+        Point[] corners = { new Point(0, 0), new Point(4, 0), new Point(4, 4), new Point(0, 4) };
+        PolygonZone square = new PolygonZone(corners);
+
+        // Act
+        corners[2] = new Point(100, 100);
+
+        // Assert
+        assertEquals(4.0, square.getCornerX(2), DELTA);
+        assertEquals(4.0, square.getCornerY(2), DELTA);
+        assertFalse(square.contains(50, 50));
+    }
+
+    @Test
+    public void setPosition_repeatedMoves_positionFollowsLastMove() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(0, 0), 2, 2);
+
+        // Act
+        for (int i = 1; i <= 100; i++) {
+            square.setPosition(i, -i);
+        }
+
+        // Assert
+        assertEquals(100.0, square.getPosition().getX(), DELTA);
+        assertEquals(-100.0, square.getPosition().getY(), DELTA);
+        assertSame(square.getPosition(), square.getPosition());
+        assertEquals(101.0, square.getCornerX(1), DELTA);
+    }
 }
@@ -0,0 +1,71 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SignedDistanceFieldTests {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void distanceAt_gridNode_matchesZoneDistance() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        SignedDistanceField field = new SignedDistanceField(new BoundingBox(0, 0, 20, 20), 1, square);
+
+        // Assert
+        assertEquals(-4.0, field.distanceAt(10, 10), DELTA);
+        assertEquals(-1.0, field.distanceAt(9, 13), DELTA);
+        assertEquals(4.0, field.distanceAt(2, 10), DELTA);
+    }
+
+    @Test
+    public void distanceAt_betweenNodes_interpolates() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        SignedDistanceField field = new SignedDistanceField(new BoundingBox(0, 0, 20, 20), 1, square);
+
+        // Act
+        double distance = field.distanceAt(new Point(2.5, 10));
+
+        // Assert
+        // Along a straight side the distance is linear, so interpolation is exact
+        assertEquals(3.5, distance, DELTA);
+    }
+
+    @Test
+    public void distanceAt_severalZones_usesNearest() {
+        // Arrange
+        CircleZone left = new CircleZone(new Point(4, 10), 2);
+        CircleZone right = new CircleZone(new Point(16, 10), 2);
+        SignedDistanceField field = new SignedDistanceField(new BoundingBox(0, 0, 20, 20), 0.5, left, right);
+
+        // Assert
+        assertEquals(2.0, field.distanceAt(8, 10), DELTA);
+        assertEquals(-2.0, field.distanceAt(16, 10), DELTA);
+    }
+
+    @Test
+    public void gradientAt_outsideZone_pointsAway() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        SignedDistanceField field = new SignedDistanceField(new BoundingBox(0, 0, 20, 20), 1, square);
+
+        // Assert
+        assertEquals(-1.0, field.gradientXAt(3, 10), DELTA);
+        assertEquals(0.0, field.gradientYAt(3, 10), DELTA);
+        assertEquals(1.0, field.gradientYAt(10, 17), DELTA);
+    }
+
+    @Test
+    public void distanceAt_outsideArea_isClampedToEdge() {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(10, 10), 2);
+        SignedDistanceField field = new SignedDistanceField(new BoundingBox(0, 0, 20, 20), 1, circle);
+
+        // Assert
+        assertEquals(field.distanceAt(20, 10), field.distanceAt(50, 10), DELTA);
+        assertTrue(field.getBounds().contains(new BoundingBox(0, 0, 20, 20)));
+    }
+}
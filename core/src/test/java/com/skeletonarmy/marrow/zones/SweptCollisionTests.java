@@ -0,0 +1,237 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+public class SweptCollisionTests {
+    private static final double DELTA = 0.0001;
+
+    /**
+     * A zone type the built-in zones don't know how to measure against.
+     */
+    private static class UnknownZone implements Zone {
+        @Override
+        public Point getPosition() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public boolean contains(Point point) {
+            return false;
+        }
+
+        @Override
+        public boolean isInside(Zone zone) {
+            return false;
+        }
+
+        @Override
+        public boolean isFullyInside(Zone zone) {
+            return false;
+        }
+
+        @Override
+        public double distanceTo(Point point) {
+            return 1.0;
+        }
+
+        @Override
+        public double distanceTo(Zone zone) {
+            return Double.NaN;
+        }
+
+        @Override
+        public double distanceToBoundary(Point point) {
+            return 1.0;
+        }
+
+        @Override
+        public void moveBy(double deltaX, double deltaY) {
+        }
+
+        @Override
+        public void setPosition(double posX, double posY) {
+        }
+    }
+
+    /**
+     * Creates a thin wall along the Y axis, 0.2 units thick, from y = -10 to y = 10.
+     */
+    private PolygonZone createThinWall() {
+        return new PolygonZone(new Point(0, -10), new Point(0, 10), 0.2);
+    }
+
+    @Test
+    public void timeOfImpact_circleTunnelingThroughThinWall_findsContact() {
+        // Arrange
+        CircleZone robot = new CircleZone(new Point(-10, 0), 1);
+        PolygonZone wall = createThinWall();
+
+        // Act: both ends of the motion are clear of the wall
+        double t = SweptCollision.timeOfImpact(robot, -10, 0, 10, 0, wall);
+
+        // Assert: contact when the center reaches x = -1.1, which is 8.9 of the 20 units travelled
+        assertEquals(8.9 / 20, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_polygonMissingObstacle_returnsNegative() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(-10, 20), 2, 2);
+        PolygonZone wall = createThinWall();
+
+        // Act
+        double t = SweptCollision.timeOfImpact(robot, -10, 20, 0, 10, 20, 0, wall);
+
+        // Assert
+        assertEquals(-1, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_polygonTunnelingThroughThinWall_findsContact() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(-10, 0), 2, 2);
+        PolygonZone wall = createThinWall();
+
+        // Act
+        double t = SweptCollision.timeOfImpact(robot, -10, 0, 0, 10, 0, 0, wall);
+
+        // Assert: contact when the center reaches x = -1.1
+        assertEquals(8.9 / 20, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_rotatingInPlace_findsContact() {
+        // Arrange: a long bar next to a post, which it hits when rotated by 90 degrees
+        PolygonZone bar = new PolygonZone(new Point(0, 0), 10, 1);
+        CircleZone post = new CircleZone(new Point(0, 4), 0.5);
+
+        // Act
+        double t = SweptCollision.timeOfImpact(bar, 0, 0, 0, 0, 0, Math.PI / 2, post);
+
+        // Assert: the bar just touches the post at the returned rotation
+        double angleAtContact = t * Math.PI / 2;
+        PolygonZone check = new PolygonZone(new Point(0, 0), 10, 1, angleAtContact);
+        assertEquals(0.0, check.distanceTo(post), 1e-4);
+    }
+
+    @Test
+    public void timeOfImpact_restoresOriginalPose() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(3, 4), 2, 2, 0.5);
+        PolygonZone wall = createThinWall();
+
+        // Act
+        SweptCollision.timeOfImpact(robot, -10, 0, 0, 10, 0, 1, wall);
+
+        // Assert
+        assertEquals(3.0, robot.getPosition().getX(), DELTA);
+        assertEquals(4.0, robot.getPosition().getY(), DELTA);
+        assertEquals(0.5, robot.getRotation(), DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_polygon_leavesVersionUnchanged() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(3, 4), 2, 2, 0.5);
+        PolygonZone wall = createThinWall();
+        long versionBefore = robot.getVersion();
+
+        // Act
+        SweptCollision.timeOfImpact(robot, -10, 0, 0, 10, 0, 1, wall);
+
+        // Assert
+        assertEquals(versionBefore, robot.getVersion());
+    }
+
+    @Test
+    public void timeOfImpact_circle_leavesMovingZoneUntouched() {
+        // Arrange
+        CircleZone robot = new CircleZone(new Point(3, 4), 1);
+        PolygonZone wall = createThinWall();
+        long versionBefore = robot.getVersion();
+
+        // Act
+        SweptCollision.timeOfImpact(robot, -10, 0, 10, 0, wall);
+
+        // Assert
+        assertEquals(versionBefore, robot.getVersion());
+        assertEquals(3.0, robot.getPosition().getX(), DELTA);
+        assertEquals(4.0, robot.getPosition().getY(), DELTA);
+    }
+
+    /**
+     * Creates a long wall whose top edge is 0.05 units below a 10 by 10 footprint centered on the X axis.
+     */
+    private PolygonZone createNearWall() {
+        return new PolygonZone(new Point(-100, -6.05), new Point(200, -6.05), new Point(200, -5.05), new Point(-100, -5.05));
+    }
+
+    @Test
+    public void timeOfImpact_polygonMovingAlongNearWall_returnsNegative() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(0, 0), 10, 10);
+        PolygonZone wall = createNearWall();
+
+        // Act: the gap stays at 0.05 over the whole motion
+        double t = SweptCollision.timeOfImpact(robot, 0, 0, 0, 100, 0, 0, wall);
+
+        // Assert
+        assertEquals(-1, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_circleMovingAlongNearWall_returnsNegative() {
+        // Arrange
+        CircleZone robot = new CircleZone(new Point(0, 0), 5);
+        PolygonZone wall = createNearWall();
+
+        // Act
+        double t = SweptCollision.timeOfImpact(robot, 0, 0, 100, 0, wall);
+
+        // Assert
+        assertEquals(-1, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_polygonMovingAlongNearWall_findsBlockAtTheEnd() {
+        // Arrange: a block standing on the wall, which the footprint's right edge reaches when its center is at x = 75
+        PolygonZone robot = new PolygonZone(new Point(0, 0), 10, 10);
+        CompositeZone obstacle = new CompositeZone(createNearWall(),
+                new PolygonZone(new Point(80, -5.05), new Point(90, -5.05), new Point(90, 5), new Point(80, 5)));
+
+        // Act
+        double t = SweptCollision.timeOfImpact(robot, 0, 0, 0, 100, 0, 0, obstacle);
+
+        // Assert
+        assertEquals(0.75, t, DELTA);
+    }
+
+    @Test
+    public void timeOfImpact_circleMovingAlongNearWall_findsBlockAtTheEnd() {
+        // Arrange
+        CircleZone robot = new CircleZone(new Point(0, 0), 5);
+        CompositeZone obstacle = new CompositeZone(createNearWall(),
+                new PolygonZone(new Point(80, -5.05), new Point(90, -5.05), new Point(90, 5), new Point(80, 5)));
+
+        // Act
+        double t = SweptCollision.timeOfImpact(robot, 0, 0, 100, 0, obstacle);
+
+        // Assert
+        assertEquals(0.75, t, DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeOfImpact_polygonAgainstUnknownZone_throwsException() {
+        PolygonZone robot = new PolygonZone(new Point(-10, 0), 2, 2);
+
+        SweptCollision.timeOfImpact(robot, -10, 0, 0, 10, 0, 0, new UnknownZone());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timeOfImpact_circleAgainstUnknownZone_throwsException() {
+        CircleZone robot = new CircleZone(new Point(-10, 0), 1);
+
+        SweptCollision.timeOfImpact(robot, -10, 0, 10, 0, new UnknownZone());
+    }
+}
@@ -0,0 +1,207 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+
+public class ZoneIndexTests {
+    /**
+     * A zone written against the original interface, implementing only the methods it had before
+     * bounding boxes, versions and coordinate overloads were added.
+     */
+    private static class LegacyZone implements Zone {
+        private Point center;
+        private final double radius;
+
+        LegacyZone(Point center, double radius) {
+            this.center = center;
+            this.radius = radius;
+        }
+
+        @Override
+        public Point getPosition() {
+            return center;
+        }
+
+        @Override
+        public boolean contains(Point point) {
+            return center.distanceTo(point) <= radius;
+        }
+
+        @Override
+        public boolean isInside(Zone zone) {
+            return zone.distanceTo(center) <= radius;
+        }
+
+        @Override
+        public boolean isFullyInside(Zone zone) {
+            return false;
+        }
+
+        @Override
+        public double distanceTo(Point point) {
+            return Math.max(0.0, center.distanceTo(point) - radius);
+        }
+
+        @Override
+        public double distanceTo(Zone zone) {
+            return Math.max(0.0, zone.distanceTo(center) - radius);
+        }
+
+        @Override
+        public double distanceToBoundary(Point point) {
+            return center.distanceTo(point) - radius;
+        }
+
+        @Override
+        public void moveBy(double deltaX, double deltaY) {
+            center = new Point(center.getX() + deltaX, center.getY() + deltaY);
+        }
+
+        @Override
+        public void setPosition(double posX, double posY) {
+            center = new Point(posX, posY);
+        }
+    }
+
+    /**
+     * Creates an index over a 144x144 field divided into 24x24 cells.
+     */
+    private ZoneIndex createIndex(Zone... zones) {
+        ZoneIndex index = new ZoneIndex(new BoundingBox(0, 0, 144, 144), 24);
+        index.add(zones);
+        return index;
+    }
+
+    @Test
+    public void zonesContaining_pointInsideOneZone_returnsThatZone() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        CircleZone circle = new CircleZone(new Point(100, 100), 6);
+        PolygonZone strip = new PolygonZone(new Point(72, 2), 140, 4);
+        ZoneIndex index = createIndex(square, circle, strip);
+
+        // Act
+        List<Zone> result = index.zonesContaining(101, 99);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(result.contains(circle));
+    }
+
+    @Test
+    public void zonesContaining_pointInsideOverlappingZones_returnsAll() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        PolygonZone strip = new PolygonZone(new Point(72, 8), 140, 4);
+        ZoneIndex index = createIndex(square, strip);
+
+        // Act
+        List<Zone> result = index.zonesContaining(new Point(10, 7));
+
+        // Assert
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void zonesContaining_pointOutsideIndexedArea_stillFindsZone() {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(-20, -20), 5);
+        ZoneIndex index = createIndex(circle);
+
+        // Assert
+        assertTrue(index.zonesContaining(-21, -19).contains(circle));
+        assertTrue(index.zonesContaining(0, 0).isEmpty());
+    }
+
+    @Test
+    public void zonesWithin_returnsNearbyZonesOnlyOnce() {
+        // Arrange
+        PolygonZone robot = new PolygonZone(new Point(50, 50), 18, 18);
+        PolygonZone strip = new PolygonZone(new Point(72, 36), 140, 4);
+        CircleZone far = new CircleZone(new Point(130, 130), 5);
+        ZoneIndex index = createIndex(robot, strip, far);
+
+        // Act
+        List<Zone> result = index.zonesWithin(robot, 6);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(result.contains(strip));
+    }
+
+    @Test
+    public void refresh_afterZoneMoves_refilesZone() {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(10, 10), 3);
+        ZoneIndex index = createIndex(circle);
+
+        // Act
+        circle.setPosition(120, 120);
+        index.refresh();
+
+        // Assert
+        assertTrue(index.zonesContaining(120, 121).contains(circle));
+        assertFalse(index.zonesContaining(10, 10).contains(circle));
+    }
+
+    @Test
+    public void remove_zoneInIndex_noLongerFound() {
+        // Arrange
+        PolygonZone square = new PolygonZone(new Point(10, 10), 8, 8);
+        ZoneIndex index = createIndex(square);
+
+        // Act
+        boolean removed = index.remove(square);
+
+        // Assert
+        assertTrue(removed);
+        assertEquals(0, index.size());
+        assertTrue(index.zonesContaining(10, 10).isEmpty());
+    }
+
+    @Test
+    public void remove_firstOfSeveral_othersStillRefreshed() {
+        // Arrange
+        CircleZone first = new CircleZone(new Point(10, 10), 5);
+        CircleZone second = new CircleZone(new Point(50, 50), 5);
+        CircleZone third = new CircleZone(new Point(100, 100), 5);
+        ZoneIndex index = createIndex(first, second, third);
+
+        // Act
+        index.remove(first);
+        index.add(second, third);
+        third.setPosition(10, 10);
+        index.refresh();
+
+        // Assert
+        assertEquals(2, index.size());
+        assertFalse(index.remove(first));
+        List<Zone> result = index.zonesContaining(10, 10);
+        assertEquals(1, result.size());
+        assertTrue(result.contains(third));
+        assertTrue(index.zonesContaining(50, 50).contains(second));
+    }
+
+    @Test
+    public void zonesContaining_zoneWithoutBoundsOrVersion_isStillFound() {
+        // Arrange
+        LegacyZone legacy = new LegacyZone(new Point(100, 100), 5);
+        ZoneIndex index = createIndex(legacy, new CircleZone(new Point(10, 10), 5));
+
+        // Act
+        legacy.setPosition(20, 20);
+        index.refresh();
+        List<Zone> result = index.zonesContaining(21, 21);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(result.contains(legacy));
+        assertTrue(legacy.contains(21, 21));
+        assertEquals(1.0, legacy.distanceTo(26, 20), 0.0001);
+        assertTrue(legacy.getVersion() != legacy.getVersion());
+    }
+}
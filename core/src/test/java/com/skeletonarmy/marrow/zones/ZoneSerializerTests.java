@@ -0,0 +1,174 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class ZoneSerializerTests {
+
+    private static final double DELTA = 0.0001;
+
+    private static Zone roundTrip(Zone zone) {
+        return ZoneSerializer.read(ByteBuffer.wrap(ZoneSerializer.toBytes(zone)));
+    }
+
+    /**
+     * Checks that two zones give the same signed distances over a grid around the origin.
+     */
+    private static void assertSameShape(Zone expected, Zone actual) {
+        for (double x = -12; x <= 12; x += 0.75) {
+            for (double y = -12; y <= 12; y += 0.75) {
+                assertEquals(expected.distanceToBoundary(x, y), actual.distanceToBoundary(x, y), 1e-9);
+                assertEquals(expected.contains(x, y), actual.contains(x, y));
+            }
+        }
+    }
+
+    // Where a saved square's corner count, convex flag and convex part count are, after the header and type byte
+    private static final int CORNER_COUNT_OFFSET = 6;
+    private static final int CONVEX_FLAG_OFFSET = 10;
+    private static final int PART_COUNT_OFFSET = 44 + 6 * 4 * 8;
+
+    private static byte[] savedSquare() {
+        return ZoneSerializer.toBytes(new PolygonZone(new Point(0, 0), 2, 2));
+    }
+
+    @Test
+    public void read_circle_matchesOriginal() {
+        CircleZone circle = new CircleZone(new Point(3, -2), 2.5);
+
+        Zone loaded = roundTrip(circle);
+
+        assertTrue(loaded instanceof CircleZone);
+        assertEquals(2.5, ((CircleZone) loaded).getRadius(), DELTA);
+        assertSameShape(circle, loaded);
+    }
+
+    @Test
+    public void read_rotatedConcavePolygon_keepsPoseAndParts() {
+        // Arrange
+        PolygonZone lShape = new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 1), new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+        lShape.setPose(2, 3, 0.7);
+
+        // Act
+        PolygonZone loaded = (PolygonZone) roundTrip(lShape);
+
+        // Assert
+        assertEquals(2.0, loaded.getPosition().getX(), DELTA);
+        assertEquals(0.7, loaded.getRotation(), DELTA);
+        assertEquals(lShape.getConvexParts().length, loaded.getConvexParts().length);
+        assertSameShape(lShape, loaded);
+        PolygonZone probe = new PolygonZone(new Point(5, 5), 1, 1);
+        assertEquals(lShape.distanceTo(probe), loaded.distanceTo(probe), 1e-9);
+    }
+
+    @Test
+    public void read_nestedZones_keepsStructureAndSharing() {
+        // Arrange
+        PolygonZone shared = new PolygonZone(new Point(0, 0), 2, 2);
+        CompositeZone complex = new CompositeZone(
+                new CompositeZone(shared, new CircleZone(new Point(6, 0), 1)),
+                new DifferenceZone(new PolygonZone(new Point(-5, 0), 4, 4), new CircleZone(new Point(-5, 0), 1)),
+                new IntersectionZone(shared, new PolygonZone(new Point(1, 1), 2, 2)),
+                new CircleZone(new Point(0, 8), 1).inflate(0.5)
+        );
+
+        // Act
+        Zone loaded = roundTrip(complex);
+
+        // Assert
+        assertSameShape(complex, loaded);
+        assertEquals(complex.getPosition().getX(), loaded.getPosition().getX(), DELTA);
+        CompositeZone loadedComplex = (CompositeZone) loaded;
+        Zone loadedShared = ((CompositeZone) loadedComplex.getZones().get(0)).getZones().get(0);
+        assertSame(loadedShared, ((IntersectionZone) loadedComplex.getZones().get(2)).first);
+    }
+
+    @Test
+    public void read_file_matchesOriginal() throws IOException {
+        // Arrange
+        CompositeZone field = new CompositeZone(
+                new PolygonZone(new Point(-6, -6), new Point(0, -6), new Point(-6, 0)),
+                new PolygonZone(new Point(6, 6), new Point(0, 6), new Point(6, 0))
+        );
+        File file = File.createTempFile("zones", ".bin");
+        file.deleteOnExit();
+
+        // Act
+        ZoneSerializer.write(field, file);
+        Zone loaded = ZoneSerializer.read(file);
+
+        // Assert
+        assertSameShape(field, loaded);
+    }
+
+    @Test
+    public void read_snapshot_savesHeldZone() {
+        PolygonZone square = new PolygonZone(new Point(1, 1), 3, 3);
+
+        Zone loaded = roundTrip(ZoneSnapshot.of(square));
+
+        assertTrue(loaded instanceof PolygonZone);
+        assertSameShape(square, loaded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_notAZone_throwsException() {
+        ZoneSerializer.read(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_cutOff_throwsException() {
+        byte[] bytes = savedSquare();
+
+        ZoneSerializer.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_polygonWithTwoCorners_throwsException() {
+        ByteBuffer buffer = ByteBuffer.wrap(savedSquare());
+        buffer.putInt(CORNER_COUNT_OFFSET, 2);
+
+        ZoneSerializer.read(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_polygonWithNegativeCorners_throwsException() {
+        ByteBuffer buffer = ByteBuffer.wrap(savedSquare());
+        buffer.putInt(CORNER_COUNT_OFFSET, -4);
+
+        ZoneSerializer.read(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_polygonWithMoreCornersThanBytes_throwsException() {
+        ByteBuffer buffer = ByteBuffer.wrap(savedSquare());
+        buffer.putInt(CORNER_COUNT_OFFSET, 5);
+
+        ZoneSerializer.read(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_polygonWithWrongConvexFlag_throwsException() {
+        byte[] bytes = savedSquare();
+        bytes[CONVEX_FLAG_OFFSET] = 0;
+
+        ZoneSerializer.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void read_polygonWithNegativePartCount_throwsException() {
+        ByteBuffer buffer = ByteBuffer.wrap(savedSquare());
+        buffer.putInt(PART_COUNT_OFFSET, -1);
+
+        ZoneSerializer.read(buffer);
+    }
+}
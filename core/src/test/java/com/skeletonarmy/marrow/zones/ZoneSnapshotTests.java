@@ -0,0 +1,277 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ZoneSnapshotTests {
+
+    private static final double DELTA = 0.0001;
+
+    /**
+     * An L shape with its corner at (0, 0), 4 long and 1 thick.
+     */
+    private PolygonZone createLShape() {
+        return new PolygonZone(
+                new Point(0, 0), new Point(4, 0), new Point(4, 1), new Point(1, 1), new Point(1, 4), new Point(0, 4)
+        );
+    }
+
+    @Test
+    public void of_originalMovedAfterwards_snapshotStaysPut() {
+        // Arrange
+        PolygonZone zone = new PolygonZone(new Point(0, 0), 2, 2);
+        ZoneSnapshot snapshot = ZoneSnapshot.of(zone);
+
+        // Act
+        zone.moveBy(10, 0);
+        zone.rotateByDegrees(45);
+
+        // Assert
+        assertTrue(snapshot.contains(0.9, 0.9));
+        assertFalse(snapshot.contains(10, 0));
+        assertEquals(0.0, snapshot.getPosition().getX(), DELTA);
+        assertEquals(1.0, snapshot.getBoundingBox().getMaxX(), DELTA);
+    }
+
+    @Test
+    public void of_movedConcavePolygon_matchesOriginal() {
+        // Arrange
+        PolygonZone lShape = createLShape();
+        lShape.setPose(5, 5, Math.PI / 2);
+        PolygonZone other = new PolygonZone(new Point(10, 10), 1, 1);
+
+        // Act
+        ZoneSnapshot snapshot = ZoneSnapshot.of(lShape);
+
+        // Assert
+        for (double x = 0; x <= 10; x += 0.5) {
+            assertEquals(lShape.distanceToBoundary(x, 4), snapshot.distanceToBoundary(x, 4), 1e-9);
+        }
+        assertEquals(lShape.distanceTo(other), snapshot.distanceTo(other), 1e-9);
+        assertEquals(lShape.distanceTo(other), other.distanceTo(snapshot), 1e-9);
+    }
+
+    @Test
+    public void of_complexZoneWithSharedComponent_keepsItShared() {
+        // Arrange
+        CircleZone shared = new CircleZone(new Point(0, 0), 1);
+        CompositeZone left = new CompositeZone(shared, new PolygonZone(new Point(-3, 0), 2, 2));
+        CompositeZone right = new CompositeZone(shared, new PolygonZone(new Point(3, 0), 2, 2));
+        CompositeZone complex = new CompositeZone(left, right);
+
+        // Act
+        ZoneSnapshot snapshot = ZoneSnapshot.of(complex);
+        complex.moveBy(0, 10);
+
+        // Assert
+        assertTrue(snapshot.contains(0, 0));
+        assertTrue(snapshot.contains(3.5, 0));
+        assertEquals(complex.getPosition().getX(), snapshot.getPosition().getX(), DELTA);
+        assertEquals(0.0, snapshot.getPosition().getY(), DELTA);
+    }
+
+    @Test
+    public void of_combinedZones_matchesOriginal() {
+        // Arrange
+        DifferenceZone difference = new DifferenceZone(new PolygonZone(new Point(0, 0), 4, 4), new PolygonZone(new Point(2, 2), 4, 4));
+        Zone inflated = new CircleZone(new Point(10, 0), 1).inflate(0.5);
+
+        // Act
+        ZoneSnapshot differenceSnapshot = ZoneSnapshot.of(difference);
+        ZoneSnapshot inflatedSnapshot = ZoneSnapshot.of(inflated);
+
+        // Assert
+        assertFalse(differenceSnapshot.contains(1, 1));
+        assertTrue(differenceSnapshot.contains(-1, -1));
+        assertEquals(difference.distanceTo(1, 1), differenceSnapshot.distanceTo(1, 1), DELTA);
+        assertEquals(3.5, inflatedSnapshot.distanceTo(5, 0), DELTA);
+        assertEquals(6.5, inflatedSnapshot.distanceTo(differenceSnapshot), DELTA);
+    }
+
+    @Test
+    public void of_snapshot_returnsSameSnapshot() {
+        ZoneSnapshot snapshot = ZoneSnapshot.of(new CircleZone(new Point(0, 0), 1));
+
+        assertSame(snapshot, ZoneSnapshot.of(snapshot));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void moveBy_snapshot_throwsException() {
+        ZoneSnapshot.of(new CircleZone(new Point(0, 0), 1)).moveBy(1, 0);
+    }
+
+    @Test
+    public void publish_onlyCopiesAfterMove() {
+        // Arrange
+        PolygonZone zone = new PolygonZone(new Point(0, 0), 2, 2);
+        SnapshotPublisher publisher = new SnapshotPublisher(zone);
+        ZoneSnapshot first = publisher.get();
+
+        // Act
+        ZoneSnapshot unchanged = publisher.publish();
+        zone.moveBy(5, 0);
+        ZoneSnapshot moved = publisher.publish();
+
+        // Assert
+        assertSame(first, unchanged);
+        assertNotSame(first, moved);
+        assertSame(moved, publisher.get());
+        assertTrue(moved.contains(5, 0));
+        assertEquals(zone.getVersion(), moved.getVersion());
+    }
+
+    @Test
+    public void get_readerThread_alwaysSeesConsistentSnapshot() throws InterruptedException {
+        // Arrange
+        PolygonZone footprint = createLShape();
+        // The L's position is the average of its corners, so keep track of where its corner square is from there
+        double cornerOffsetX = 0.5 - footprint.getPosition().getX();
+        double cornerOffsetY = 0.5 - footprint.getPosition().getY();
+        SnapshotPublisher publisher = new SnapshotPublisher(footprint);
+        AtomicInteger failures = new AtomicInteger();
+        final boolean[] done = { false };
+
+        Thread reader = new Thread(() -> {
+            while (!isDone(done)) {
+                // A snapshot of any pose has the corner of the L at the same offset from its position
+                ZoneSnapshot snapshot = publisher.get();
+                Point position = snapshot.getPosition();
+                if (!snapshot.contains(position.getX() + cornerOffsetX, position.getY() + cornerOffsetY) ||
+                        snapshot.contains(position.getX(), position.getY())) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+
+        // Act
+        reader.start();
+        for (int i = 0; i < 2000; i++) {
+            footprint.moveBy(0.01, 0.02);
+            publisher.publish();
+        }
+        synchronized (done) {
+            done[0] = true;
+        }
+        reader.join();
+
+        // Assert
+        assertEquals(0, failures.get());
+    }
+
+    @Test
+    public void of_complexZone_queriesFromManyThreadsNeverWriteToCopy() throws Exception {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(-5, 0), 1);
+        PolygonZone lShape = createLShape();
+        CompositeZone complex = new CompositeZone(circle, lShape, new InflatedZone(new PolygonZone(new Point(8, 0), 2, 2), 0.5));
+        ZoneSnapshot snapshot = ZoneSnapshot.of(complex);
+        Zone copy = ZoneSnapshot.unwrap(snapshot);
+        PolygonZone probe = new PolygonZone(new Point(2, 6), 1, 1);
+
+        double expectedDistance = snapshot.distanceTo(probe);
+        double expectedBoundary = snapshot.distanceToBoundary(0.5, 2);
+        long expectedVersion = snapshot.getVersion();
+        Point expectedPosition = snapshot.getPosition();
+        List<Object> fieldsBefore = fieldsOf(copy);
+
+        AtomicInteger failures = new AtomicInteger();
+        final boolean[] done = { false };
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                while (!isDone(done)) {
+                    if (snapshot.distanceTo(probe) != expectedDistance ||
+                            snapshot.distanceToBoundary(0.5, 2) != expectedBoundary ||
+                            snapshot.getVersion() != expectedVersion ||
+                            snapshot.getPosition() != expectedPosition ||
+                            !snapshot.contains(-5, 0) || snapshot.contains(20, 20)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // Act: keep moving the original and everything it is built from while the readers run
+        for (Thread reader : readers) reader.start();
+        for (int i = 0; i < 2000; i++) {
+            complex.moveBy(0.01, 0.02);
+            circle.moveBy(-0.01, 0);
+            lShape.rotateByDegrees(1);
+            probe.distanceTo(lShape);
+        }
+        synchronized (done) {
+            done[0] = true;
+        }
+        for (Thread reader : readers) reader.join();
+
+        // Assert
+        assertEquals(0, failures.get());
+        assertEquals(fieldsBefore, fieldsOf(copy));
+    }
+
+    /**
+     * Reads every field of a zone and of the zones it is built from, comparing arrays by content.
+     */
+    private static List<Object> fieldsOf(Zone zone) throws IllegalAccessException {
+        List<Object> values = new ArrayList<>();
+        for (Class<?> type = zone.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                field.setAccessible(true);
+                Object value = field.get(zone);
+                if (value instanceof double[]) {
+                    values.add(Arrays.toString((double[]) value));
+                } else if (value instanceof long[]) {
+                    values.add(Arrays.toString((long[]) value));
+                } else {
+                    values.add(value);
+                }
+            }
+        }
+
+        if (zone instanceof CompositeZone) {
+            for (Zone child : ((CompositeZone) zone).getZones()) values.addAll(fieldsOf(child));
+        } else if (zone instanceof InflatedZone) {
+            values.addAll(fieldsOf(((InflatedZone) zone).getZone()));
+        }
+        return values;
+    }
+
+    private static boolean isDone(boolean[] done) {
+        synchronized (done) {
+            return done[0];
+        }
+    }
+
+    @Test
+    public void nearestBoundaryPoint_namesSnapshotInsteadOfCopy() {
+        // Arrange
+        CircleZone circle = new CircleZone(new Point(0, 0), 2);
+        ZoneSnapshot snapshot = ZoneSnapshot.of(new CompositeZone(circle, new PolygonZone(new Point(20, 0), 2, 2)));
+        NearestPoint nearest = new NearestPoint();
+
+        // Act
+        snapshot.nearestBoundaryPoint(10, 0, nearest);
+
+        // Assert
+        assertSame(snapshot, nearest.getZone());
+        assertEquals(8.0, nearest.getDistance(), DELTA);
+        try {
+            nearest.getZone().moveBy(5, 0);
+        } catch (UnsupportedOperationException expected) {
+            // Snapshots can't be moved
+        }
+        assertEquals(8.0, snapshot.distanceTo(10, 0), DELTA);
+    }
+}
@@ -0,0 +1,128 @@
+package com.skeletonarmy.marrow.zones;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ZoneTrackerTests {
+    @Test
+    public void update_pointCrossesZone_firesEnterThenExit() {
+        // Arrange
+        PolygonZone zone = new PolygonZone(new Point(10, 0), 4, 4);
+        List<String> events = new ArrayList<>();
+        ZoneTracker tracker = new ZoneTracker()
+                .onEnter(zone, () -> events.add("enter"))
+                .onExit(zone, () -> events.add("exit"));
+
+        // Act
+        for (int x = 0; x <= 20; x++) {
+            tracker.update(x, 0, x);
+        }
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals("enter", events.get(0));
+        assertEquals("exit", events.get(1));
+        assertFalse(tracker.isInside(zone));
+    }
+
+    @Test
+    public void update_pointWobblesOnBoundary_hysteresisPreventsFlicker() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 5);
+        List<String> events = new ArrayList<>();
+        ZoneTracker tracker = new ZoneTracker(0.5)
+                .onEnter(zone, () -> events.add("enter"))
+                .onExit(zone, () -> events.add("exit"));
+        tracker.update(3, 0, 0);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            tracker.update(i % 2 == 0 ? 4.8 : 5.2, 0, i);
+        }
+
+        // Assert
+        assertEquals(1, events.size());
+        assertTrue(tracker.isInside(zone));
+
+        tracker.update(5.6, 0, 11);
+        assertEquals("exit", events.get(1));
+    }
+
+    @Test
+    public void update_pointStaysInZone_firesDwellOncePerVisit() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 5);
+        int[] dwellCount = { 0 };
+        ZoneTracker tracker = new ZoneTracker().onDwell(zone, 2.0, () -> dwellCount[0]++);
+
+        // Act
+        tracker.update(0, 0, 10.0);
+        tracker.update(0, 0, 11.0);
+        assertEquals(0, dwellCount[0]);
+        tracker.update(0, 0, 12.5);
+        tracker.update(0, 0, 20.0);
+
+        // Assert
+        assertEquals(1, dwellCount[0]);
+
+        tracker.update(10, 0, 21.0);
+        tracker.update(0, 0, 22.0);
+        tracker.update(0, 0, 24.0);
+        assertEquals(2, dwellCount[0]);
+    }
+
+    @Test
+    public void update_zoneMovesOntoStillPoint_firesEnter() {
+        // Arrange
+        PolygonZone zone = new PolygonZone(new Point(30, 30), 4, 4);
+        int[] enterCount = { 0 };
+        ZoneTracker tracker = new ZoneTracker().onEnter(zone, () -> enterCount[0]++);
+        tracker.update(0, 0, 0);
+
+        // Act
+        zone.setPosition(0, 0);
+        tracker.update(0, 0, 1);
+
+        // Assert
+        assertEquals(1, enterCount[0]);
+        assertTrue(tracker.isInside(zone));
+    }
+
+    @Test
+    public void update_largeJumpAfterSkippedChecks_stillDetectsEntry() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(50, 0), 2);
+        List<String> events = new ArrayList<>();
+        ZoneTracker tracker = new ZoneTracker().onEnter(zone, () -> events.add("enter"));
+
+        // Act
+        tracker.update(0, 0, 0);
+        tracker.update(1, 0, 1);
+        tracker.update(2, 0, 2);
+        tracker.update(50, 1, 3);
+
+        // Assert
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void remove_zone_stopsFiring() {
+        // Arrange
+        CircleZone zone = new CircleZone(new Point(0, 0), 2);
+        int[] enterCount = { 0 };
+        ZoneTracker tracker = new ZoneTracker().onEnter(zone, () -> enterCount[0]++);
+
+        // Act
+        boolean removed = tracker.remove(zone);
+        tracker.update(0, 0, 0);
+
+        // Assert
+        assertTrue(removed);
+        assertEquals(0, enterCount[0]);
+    }
+}
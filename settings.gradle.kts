@@ -9,8 +9,10 @@ pluginManagement {
 plugins {
     id("com.android.library") version "8.6.1" apply false
     id("io.deepmedia.tools.deployer") version "0.16.0" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
 rootProject.name = "Marrow"
 
 include(":core")
+include(":benchmarks")